@@ -0,0 +1,20 @@
+package com.bimetri.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.bulk-delete")
+public class BulkDeleteProperties {
+    /**
+     * Number of records deleted per transaction. Smaller chunks hold their row locks for a shorter time.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of IDs one bulk delete request may list.
+     */
+    private int maxIds = 100_000;
+}
@@ -0,0 +1,12 @@
+package com.bimetri.demo.config;
+
+import com.bimetri.demo.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExceptionConfiguration {
+    public ExceptionConfiguration(@Value("${bimetri.exceptions.stack-traces:false}") boolean stackTraces) {
+        BusinessException.setStackTraceEnabled(stackTraces);
+    }
+}
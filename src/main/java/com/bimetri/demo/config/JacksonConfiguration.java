@@ -0,0 +1,57 @@
+package com.bimetri.demo.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class JacksonConfiguration {
+    /**
+     * Registers the Blackbird module with the application ObjectMapper.
+     * <p>
+     * Blackbird replaces the reflective getter and constructor calls Jackson makes for every property of every row
+     * with generated lambdas. It is opt-in because the response DTOs are small enough that the JIT already inlines
+     * the reflective path; measure with ResponseSerializationBenchmark before enabling it. Spring Boot registers
+     * every {@link Module} bean with the auto-configured ObjectMapper.
+     *
+     * @return The Blackbird Jackson module.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.json", name = "blackbird-enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Adds Smile (application/x-jackson-smile) as an alternative wire format for every endpoint.
+     * <p>
+     * Clients that send {@code Accept: application/x-jackson-smile} receive the same DTOs encoded as Smile, a binary
+     * JSON encoding that refers back to repeated field names instead of writing them on every row. That makes large
+     * lists smaller and cheaper to decode than JSON. The Smile mapper is built from the application's
+     * Jackson2ObjectMapperBuilder, so it shares the modules and settings of the JSON mapper. JSON stays the default.
+     *
+     * @param objectMapperBuilder The builder configured by Spring Boot for the application ObjectMapper.
+     * @return A WebMvcConfigurer that registers the Smile message converter.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.smile", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public WebMvcConfigurer smileMessageConverterConfigurer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        MappingJackson2SmileHttpMessageConverter converter = new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(converter);
+            }
+        };
+    }
+}
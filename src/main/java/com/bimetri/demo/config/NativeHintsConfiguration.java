@@ -0,0 +1,71 @@
+package com.bimetri.demo.config;
+
+import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.domain.Enrollment;
+import com.bimetri.demo.domain.Job;
+import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.domain.Term;
+import com.bimetri.demo.domain.WaitlistEntry;
+import com.bimetri.demo.dto.defaultResponse.DefaultResponseDTO;
+import com.bimetri.demo.dto.request.BulkDeleteRequestDto;
+import com.bimetri.demo.dto.request.CourseQueryDto;
+import com.bimetri.demo.dto.request.CourseRequestDto;
+import com.bimetri.demo.dto.request.SearchRequestDto;
+import com.bimetri.demo.dto.request.StudentQueryDto;
+import com.bimetri.demo.dto.request.StudentRequestDto;
+import com.bimetri.demo.dto.response.BulkDeleteResponseDto;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.EnrollmentChangeDto;
+import com.bimetri.demo.dto.response.EnrollmentReportDto;
+import com.bimetri.demo.dto.response.EnrollmentResponseDto;
+import com.bimetri.demo.dto.response.HistogramBucketDto;
+import com.bimetri.demo.dto.response.JobResponseDto;
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import com.bimetri.demo.dto.response.RosterEntryDto;
+import com.bimetri.demo.dto.response.SearchResponseDto;
+import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.dto.response.TermResponseDto;
+import com.bimetri.demo.dto.response.WaitlistPositionDto;
+import com.bimetri.demo.exception.BimetriExceptionHandler;
+import com.bimetri.demo.exception.message.ApiResponseError;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@Configuration
+@ImportRuntimeHints(NativeHintsConfiguration.BimetriRuntimeHints.class)
+public class NativeHintsConfiguration {
+    /**
+     * Reflection and resource hints for the GraalVM native image, see the native Maven profile.
+     * <p>
+     * Spring AOT infers most hints from the bean definitions, but not the types that are only reached reflectively:
+     * response DTOs created by JPQL constructor expressions, DTOs and error bodies bound by Jackson, the Lombok
+     * accessors Hibernate and Jackson call on entities, and the exception handler methods resolved at runtime.
+     */
+    static class BimetriRuntimeHints implements RuntimeHintsRegistrar {
+        private static final Class<?>[] PROJECTION_TYPES = {StudentResponseDto.class, CourseResponseDto.class, StudentAndCoursesResponseDto.class, RosterEntryDto.class};
+        private static final Class<?>[] BINDING_TYPES = {StudentRequestDto.class, CourseRequestDto.class, SearchRequestDto.class, StudentQueryDto.class, CourseQueryDto.class, SearchResponseDto.class, EnrollmentReportDto.class, HistogramBucketDto.class, EnrollmentResponseDto.class, WaitlistPositionDto.class, EnrollmentChangeDto.class, OutboxEventDto.class, JobResponseDto.class, BulkDeleteRequestDto.class, BulkDeleteResponseDto.class, TermResponseDto.class, DefaultResponseDTO.class, ApiResponseError.class};
+        private static final Class<?>[] ENTITY_TYPES = {Student.class, Course.class, Enrollment.class, Term.class, WaitlistEntry.class, Job.class};
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+            bindingRegistrar.registerReflectionHints(hints.reflection(), PROJECTION_TYPES);
+            bindingRegistrar.registerReflectionHints(hints.reflection(), BINDING_TYPES);
+
+            for (Class<?> type : PROJECTION_TYPES) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            for (Class<?> type : ENTITY_TYPES) {
+                hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            hints.reflection().registerType(BimetriExceptionHandler.class, MemberCategory.INVOKE_DECLARED_METHODS);
+
+            hints.resources().registerPattern("db/migration/*.sql");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.bimetri.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.reports")
+public class ReportProperties {
+    /**
+     * Whether reports are read from the periodically refreshed materialized views instead of the live tables.
+     */
+    private boolean materialized;
+
+    /**
+     * Delay between two refreshes of the materialized views.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * Oldest materialized data reports may serve. Older data is bypassed and the report is computed live.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(5);
+}
@@ -0,0 +1,36 @@
+package com.bimetri.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * An HTTP method and path pattern, configured as "METHOD /path/pattern", selecting the requests a filter applies to.
+ */
+public record RequestRoute(String method, PathPattern pattern) {
+    public static RequestRoute parse(String route) {
+        String[] parts = route.trim().split("\\s+", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected \"METHOD /path\" but got: " + route);
+        }
+
+        return new RequestRoute(parts[0].toUpperCase(), PathPatternParser.defaultInstance.parse(parts[1]));
+    }
+
+    public static boolean anyMatches(List<RequestRoute> routes, HttpServletRequest request) {
+        PathContainer path = path(request);
+
+        return routes.stream().anyMatch(route -> route.matches(request.getMethod(), path));
+    }
+
+    public static PathContainer path(HttpServletRequest request) {
+        return PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    public boolean matches(String method, PathContainer path) {
+        return this.method.equals(method) && this.pattern.matches(path);
+    }
+}
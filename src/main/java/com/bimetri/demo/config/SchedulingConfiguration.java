@@ -0,0 +1,27 @@
+package com.bimetri.demo.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+    /**
+     * Keeps beans with {@link Scheduled} methods eager when lazy initialization is enabled.
+     * <p>
+     * Scheduled methods are registered when their bean is created, so a lazily initialized bean that nothing else
+     * depends on would never run its background work.
+     *
+     * @return A filter that excludes beans declaring scheduled methods from lazy initialization.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method -> AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
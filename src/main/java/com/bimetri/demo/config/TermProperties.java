@@ -0,0 +1,16 @@
+package com.bimetri.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.terms")
+public class TermProperties {
+    /**
+     * The term new courses belong to when none is given, and whose enrollments the student and course listings show.
+     * Must be an open term; it cannot be archived while it is active.
+     */
+    private String active = "2026-FALL";
+}
@@ -0,0 +1,37 @@
+package com.bimetri.demo.config.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "bimetri.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfiguration {
+    private AdmissionControlFilter admissionControlFilter;
+
+    /**
+     * The admission control filter, limited by default to as many concurrent guarded requests as the primary
+     * connection pool has connections.
+     */
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                                         @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int maxConcurrent = properties.getMaxConcurrent() > 0 ? properties.getMaxConcurrent() : poolSize;
+        this.admissionControlFilter = new AdmissionControlFilter(properties, maxConcurrent, objectMapper, meterRegistry, System::nanoTime);
+
+        return this.admissionControlFilter;
+    }
+
+    @Scheduled(fixedDelayString = "${bimetri.admission.client-sweep-interval:PT1M}")
+    public void sweepIdleClients() {
+        if (this.admissionControlFilter != null) {
+            this.admissionControlFilter.sweepIdleClients();
+        }
+    }
+}
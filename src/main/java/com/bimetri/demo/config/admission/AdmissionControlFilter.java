@@ -0,0 +1,128 @@
+package com.bimetri.demo.config.admission;
+
+import com.bimetri.demo.config.RequestRoute;
+import com.bimetri.demo.exception.message.ApiResponseError;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Rejects guarded requests with 429 and a Retry-After header before they reach a controller, when the client has used
+ * up its token bucket or when as many guarded requests are in flight as the connection pool can serve.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final List<RequestRoute> routes;
+    private final AdmissionProperties properties;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter concurrencyLimited;
+
+    AdmissionControlFilter(AdmissionProperties properties, int maxConcurrent, ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.routes = properties.getRoutes().stream().map(RequestRoute::parse).toList();
+        this.properties = properties;
+        this.concurrencyLimiter = new ConcurrencyLimiter(maxConcurrent);
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+
+        this.admitted = requests(meterRegistry, "admitted");
+        this.rateLimited = requests(meterRegistry, "rate_limited");
+        this.concurrencyLimited = requests(meterRegistry, "concurrency_limited");
+        Gauge.builder("bimetri.admission.in.flight", this.concurrencyLimiter, ConcurrencyLimiter::getInFlight)
+                .description("Guarded requests being processed").register(meterRegistry);
+        Gauge.builder("bimetri.admission.limit", this.concurrencyLimiter, ConcurrencyLimiter::getLimit)
+                .description("Maximum number of guarded requests processed at the same time").register(meterRegistry);
+        Gauge.builder("bimetri.admission.clients", this.buckets, ConcurrentHashMap::size)
+                .description("Clients with a partially used token bucket").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !RequestRoute.anyMatches(this.routes, request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = this.nanoClock.getAsLong();
+        TokenBucket bucket = this.buckets.computeIfAbsent(clientKey(request),
+                client -> new TokenBucket(this.properties.getClientRate(), this.properties.getClientBurst(), now));
+
+        long waitNanos = bucket.tryTake(now);
+        if (waitNanos > 0) {
+            this.rateLimited.increment();
+            reject(request, response, ErrorMessage.TOO_MANY_REQUESTS, waitNanos);
+            return;
+        }
+
+        if (!this.concurrencyLimiter.tryAcquire()) {
+            this.concurrencyLimited.increment();
+            reject(request, response, ErrorMessage.SERVER_BUSY, 0);
+            return;
+        }
+
+        this.admitted.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            this.concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * Forgets the clients whose bucket has refilled completely; they get a new full bucket on their next request.
+     */
+    void sweepIdleClients() {
+        long now = this.nanoClock.getAsLong();
+        this.buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String header = this.properties.getClientHeader();
+        if (StringUtils.hasText(header)) {
+            String client = request.getHeader(header);
+            if (StringUtils.hasText(client)) {
+                return client;
+            }
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String message, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rejected {} {}: {}", request.getMethod(), request.getRequestURI(), message);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponseError(HttpStatus.TOO_MANY_REQUESTS, String.format(message, retryAfter), "uri=" + request.getRequestURI()));
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("bimetri.admission.requests").tag("outcome", outcome)
+                .description("Guarded requests by admission outcome").register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.bimetri.demo.config.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.admission")
+public class AdmissionProperties {
+    /**
+     * Whether requests to the guarded routes go through admission control.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Guarded routes as "METHOD /path/pattern". Other requests are always admitted.
+     */
+    private List<String> routes = new ArrayList<>(List.of("POST /courses/enroll", "GET /courses", "GET /students",
+            "GET /students/student-and-courses", "GET /courses/search", "GET /students/search", "GET /reports/**"));
+
+    /**
+     * Sustained number of guarded requests per second each client may send.
+     */
+    private double clientRate = 10;
+
+    /**
+     * Number of guarded requests a client may send at once after being idle.
+     */
+    private int clientBurst = 20;
+
+    /**
+     * Header identifying the client, such as an API key header. Without it, clients are told apart by their address.
+     */
+    private String clientHeader;
+
+    /**
+     * Maximum number of guarded requests processed at the same time across all clients. 0 uses the maximum size of
+     * the connection pool, so admitted requests rarely wait for a connection.
+     */
+    private int maxConcurrent;
+
+    /**
+     * Interval at which clients that have not sent a request for a full burst are forgotten.
+     */
+    private Duration clientSweepInterval = Duration.ofMinutes(1);
+}
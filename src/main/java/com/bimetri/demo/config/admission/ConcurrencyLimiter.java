@@ -0,0 +1,42 @@
+package com.bimetri.demo.config.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking limit on the number of requests in flight.
+ * <p>
+ * Unlike a semaphore, a full limiter never queues the caller: the request is rejected at once so it does not hold a
+ * Tomcat thread while waiting for a database connection.
+ */
+class ConcurrencyLimiter {
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    ConcurrencyLimiter(int limit) {
+        this.limit = limit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.limit) {
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    int getLimit() {
+        return this.limit;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bimetri.demo.config.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single theoretical arrival time (the generic cell rate algorithm).
+ * <p>
+ * Instead of counting tokens and refilling them, the bucket stores the time at which it would be full again. Taking a
+ * token pushes that time one emission interval into the future, and a request is admitted while the time is less than
+ * a full burst ahead of now. The state fits in one {@link AtomicLong}, so taking a token is a compare-and-set loop
+ * without locks.
+ */
+class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstNanos = this.emissionIntervalNanos * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available.
+     */
+    long tryTake(long nowNanos) {
+        while (true) {
+            long current = this.fullAt.get();
+            long next = Math.max(current - nowNanos, 0) + this.emissionIntervalNanos;
+            if (next > this.burstNanos) {
+                return next - this.burstNanos;
+            }
+            if (this.fullAt.compareAndSet(current, nowNanos + next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether every token taken has been refilled, so the bucket can be dropped and recreated on demand.
+     */
+    boolean isFull(long nowNanos) {
+        return this.fullAt.get() - nowNanos <= 0;
+    }
+}
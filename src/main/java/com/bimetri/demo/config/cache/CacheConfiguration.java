@@ -0,0 +1,38 @@
+package com.bimetri.demo.config.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheConfiguration implements CachingConfigurer {
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public CacheConfiguration(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Resolves the caches of the current tenant, see {@link TenantCacheResolver}.
+     */
+    @Override
+    public CacheResolver cacheResolver() {
+        return new TenantCacheResolver(this.cacheManager.getObject());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.cache", name = "cluster-invalidation", havingValue = "true", matchIfMissing = true)
+    public CacheInvalidationListener cacheInvalidationListener(CacheInvalidator cacheInvalidator, CacheInvalidationProperties properties,
+                                                               DataSourceProperties dataSourceProperties) {
+        return new CacheInvalidationListener(cacheInvalidator, properties, dataSourceProperties);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bimetri.demo.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Receives the cache invalidations broadcast by every instance, see {@link CacheInvalidator}.
+ * <p>
+ * The listener keeps its own connection to the primary database, outside the connection pool, for as long as the
+ * application runs. Notifications sent while it is disconnected are lost, so the caches are cleared whenever it
+ * (re)connects.
+ */
+@Slf4j
+public class CacheInvalidationListener implements SmartLifecycle {
+    private final CacheInvalidator cacheInvalidator;
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private volatile Thread thread;
+    private volatile boolean listening;
+
+    CacheInvalidationListener(CacheInvalidator cacheInvalidator, CacheInvalidationProperties properties, DataSourceProperties dataSourceProperties) {
+        this.cacheInvalidator = cacheInvalidator;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        this.thread = new Thread(this::listen, "cache-invalidation-listener");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread listener = this.thread;
+        this.thread = null;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.thread != null;
+    }
+
+    /**
+     * @return true while the listener is connected and receiving invalidations.
+     */
+    boolean isListening() {
+        return this.listening;
+    }
+
+    private void listen() {
+        while (isRunning()) {
+            try (Connection connection = DriverManager.getConnection(this.dataSourceProperties.determineUrl(),
+                    this.dataSourceProperties.determineUsername(), this.dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + this.properties.getChannel());
+                }
+                this.cacheInvalidator.clearAll();
+                this.listening = true;
+                log.info("Listening for cache invalidations on channel {}.", this.properties.getChannel());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int timeoutMillis = (int) this.properties.getPollTimeout().toMillis();
+                while (isRunning()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            this.cacheInvalidator.apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                this.listening = false;
+                if (!isRunning()) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected, reconnecting in {}: {}", this.properties.getReconnectDelay(), ex.getMessage());
+                try {
+                    Thread.sleep(this.properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
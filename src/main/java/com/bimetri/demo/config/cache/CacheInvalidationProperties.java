@@ -0,0 +1,33 @@
+package com.bimetri.demo.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.cache")
+public class CacheInvalidationProperties {
+    /**
+     * Whether cache invalidations are broadcast to the other instances with Postgres NOTIFY and received with LISTEN.
+     * Without it, each instance only evicts the entries made stale by its own writes.
+     */
+    private boolean clusterInvalidation = true;
+
+    /**
+     * The Postgres notification channel shared by the instances.
+     */
+    private String channel = "bimetri_cache";
+
+    /**
+     * How long the listener waits for notifications before checking whether it should stop.
+     */
+    private Duration pollTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Delay before the listener reconnects after losing its connection.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
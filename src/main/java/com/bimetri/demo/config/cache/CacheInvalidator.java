@@ -0,0 +1,152 @@
+package com.bimetri.demo.config.cache;
+
+import com.bimetri.demo.config.tenancy.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts the cache entries made stale by {@link EntityChangedEvent}s.
+ * <p>
+ * The events of a transaction are collected and, just before it commits, sent as a single Postgres NOTIFY. Postgres
+ * delivers the notification to the listening instances only if the transaction commits, so no instance evicts for a
+ * rolled back write, and every instance evicts after the data has changed. The writing instance also evicts right
+ * after its commit, without waiting for its own notification.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidator {
+    /**
+     * Postgres rejects notification payloads of 8000 bytes or more.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7999;
+    static final String ALL_CACHES = "*";
+    private static final String EVENT_SEPARATOR = ";";
+    private static final String TENANT_SEPARATOR = "@";
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationProperties properties;
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyCluster(Set.of(event));
+            evict(event);
+            return;
+        }
+
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /**
+     * Applies a notification sent by {@link #onEntityChanged}, possibly by another instance, to the caches of the
+     * tenant it was sent for.
+     */
+    void apply(String payload) {
+        int separator = payload.indexOf(TENANT_SEPARATOR);
+        if (separator >= 0) {
+            TenantContext.run(payload.substring(0, separator), () -> apply(payload.substring(separator + 1)));
+            return;
+        }
+
+        if (ALL_CACHES.equals(payload)) {
+            clearTenant();
+            return;
+        }
+
+        for (String encoded : payload.split(EVENT_SEPARATOR)) {
+            evict(EntityChangedEvent.decode(encoded));
+        }
+    }
+
+    /**
+     * Clears the caches of the current tenant, as qualified by {@link TenantCacheResolver}.
+     */
+    void clearTenant() {
+        for (String name : CacheNames.ALL) {
+            Cache cache = this.cacheManager.getCache(TenantContext.qualify(name));
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Clears the caches of every tenant, for an instance that may have missed notifications.
+     */
+    void clearAll() {
+        this.cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = this.cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+
+    private void evict(EntityChangedEvent event) {
+        Cache cache = this.cacheManager.getCache(TenantContext.qualify(event.cacheName()));
+        if (cache == null) {
+            return;
+        }
+
+        if (event.key() == null) {
+            cache.clear();
+        } else {
+            cache.evict(event.key());
+        }
+    }
+
+    private void notifyCluster(Collection<EntityChangedEvent> events) {
+        if (!this.properties.isClusterInvalidation()) {
+            return;
+        }
+
+        String payload = events.stream().map(EntityChangedEvent::encode).collect(Collectors.joining(EVENT_SEPARATOR));
+        String tenant = TenantContext.isDefault() ? "" : TenantContext.getTenant() + TENANT_SEPARATOR;
+        if ((tenant + payload).getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            payload = ALL_CACHES;
+        }
+        payload = tenant + payload;
+
+        this.jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, this.properties.getChannel(), payload);
+    }
+
+    private class PendingInvalidations implements TransactionSynchronization {
+        private final Set<EntityChangedEvent> events = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            notifyCluster(this.events);
+        }
+
+        @Override
+        public void afterCommit() {
+            this.events.forEach(CacheInvalidator.this::evict);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidator.this);
+        }
+    }
+}
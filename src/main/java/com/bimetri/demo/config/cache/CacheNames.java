@@ -0,0 +1,28 @@
+package com.bimetri.demo.config.cache;
+
+import java.util.List;
+
+public final class CacheNames {
+    /**
+     * The unfiltered course catalog, under the key "all".
+     */
+    public static final String COURSES = "courses";
+
+    /**
+     * The students enrolled in a course, by course ID.
+     */
+    public static final String COURSE_ROSTERS = "courseRosters";
+
+    /**
+     * The courses a student is enrolled in, by student ID.
+     */
+    public static final String STUDENT_COURSES = "studentCourses";
+
+    /**
+     * Every cache above, as named for the default tenant.
+     */
+    public static final List<String> ALL = List.of(COURSES, COURSE_ROSTERS, STUDENT_COURSES);
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,36 @@
+package com.bimetri.demo.config.cache;
+
+/**
+ * Published by a write that makes a cached value stale. The entry is evicted on every instance once the writing
+ * transaction commits.
+ *
+ * @param cacheName The cache holding the stale value, see {@link CacheNames}.
+ * @param key       The key of the stale entry, or null if the whole cache is stale.
+ */
+public record EntityChangedEvent(String cacheName, Long key) {
+    private static final char KEY_SEPARATOR = ':';
+
+    public static EntityChangedEvent all(String cacheName) {
+        return new EntityChangedEvent(cacheName, null);
+    }
+
+    public static EntityChangedEvent of(String cacheName, Long key) {
+        return new EntityChangedEvent(cacheName, key);
+    }
+
+    /**
+     * @return The event as "cacheName" or "cacheName:key", as sent in cache invalidation notifications.
+     */
+    String encode() {
+        return this.key == null ? this.cacheName : this.cacheName + KEY_SEPARATOR + this.key;
+    }
+
+    static EntityChangedEvent decode(String encoded) {
+        int separator = encoded.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            return all(encoded);
+        }
+
+        return of(encoded.substring(0, separator), Long.valueOf(encoded.substring(separator + 1)));
+    }
+}
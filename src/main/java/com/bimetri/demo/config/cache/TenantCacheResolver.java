@@ -0,0 +1,23 @@
+package com.bimetri.demo.config.cache;
+
+import com.bimetri.demo.config.tenancy.TenantContext;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+import java.util.Collection;
+
+/**
+ * Resolves the caches of {@code @Cacheable} methods for the current tenant, so tenants never see each other's entries
+ * and evicting a whole cache only clears the current tenant's part. The default tenant uses the plain cache names.
+ */
+class TenantCacheResolver extends SimpleCacheResolver {
+    TenantCacheResolver(CacheManager cacheManager) {
+        super(cacheManager);
+    }
+
+    @Override
+    protected Collection<String> getCacheNames(CacheOperationInvocationContext<?> context) {
+        return super.getCacheNames(context).stream().map(TenantContext::qualify).toList();
+    }
+}
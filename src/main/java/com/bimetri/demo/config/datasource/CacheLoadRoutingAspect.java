@@ -0,0 +1,24 @@
+package com.bimetri.demo.config.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Sends the reads of {@code @Cacheable} methods to the primary. After a change evicts an entry, on this instance or on
+ * another one through a NOTIFY, the next call reloads it; read from a replica that has not replayed the change yet, the
+ * old value would be cached again until it expires. Calls answered from the cache run no statement, so only the loads
+ * pay for this.
+ */
+@Aspect
+public class CacheLoadRoutingAspect {
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.readFromPrimary();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.restoreReads(previous);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bimetri.demo.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "bimetri.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+    private final RoutingDataSourceProperties routingProperties;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    public DataSourceRoutingConfiguration(RoutingDataSourceProperties routingProperties) {
+        this.routingProperties = routingProperties;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+        List<RoutingDataSourceProperties.Replica> configured = this.routingProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            replicas.put("replica-" + i, createReplica("replica-" + i, configured.get(i), properties));
+        }
+
+        this.routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, this.routingProperties.getReadYourWritesWindow(),
+                this.routingProperties.getReadYourWritesCookie());
+
+        return this.routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public CacheLoadRoutingAspect cacheLoadRoutingAspect() {
+        return new CacheLoadRoutingAspect();
+    }
+
+    @Scheduled(fixedDelayString = "${bimetri.datasource.routing.health-check-interval:PT5S}")
+    public void checkReplicaHealth() {
+        if (this.routingDataSource != null) {
+            this.routingDataSource.checkHealth(this.routingProperties.getHealthCheckTimeout());
+        }
+    }
+
+    private HikariDataSource createReplica(String name, RoutingDataSourceProperties.Replica replica, DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : properties.getUsername());
+        dataSource.setPassword(StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : properties.getPassword());
+        dataSource.setDriverClassName(properties.getDriverClassName());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // A replica that cannot hand out a connection quickly is failed over to the primary.
+        dataSource.setConnectionTimeout(Math.max(250, this.routingProperties.getHealthCheckTimeout().toMillis()));
+        // Replicas that are down at startup must not prevent the application from starting.
+        dataSource.setInitializationFailTimeout(-1);
+
+        return dataSource;
+    }
+}
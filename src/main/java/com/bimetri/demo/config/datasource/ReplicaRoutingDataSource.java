@@ -0,0 +1,256 @@
+package com.bimetri.demo.config.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to healthy replicas and everything else to the primary.
+ * <p>
+ * The lookup key is resolved when a connection is first requested, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the JPA transaction manager
+ * fetches the connection before the read-only flag of the transaction is published.
+ * <p>
+ * After a write transaction of an HTTP request commits, the response sets a cookie with the time of the write, and the
+ * reads of requests carrying it stay on the primary for the read-your-writes window, so a client never reads a replica
+ * that has not yet replayed its own change. The window is per client: writes of other clients and of background jobs,
+ * which run outside any request, do not keep anyone else's reads off the replicas. The cookie holds wall-clock time, so
+ * instances behind the same load balancer must have their clocks in sync to well within the window.
+ * <p>
+ * Reads that populate a cache also go to the primary, see {@link CacheLoadRoutingAspect}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    private static final String LAST_WRITE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".lastWrite";
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final Map<String, DataSource> replicas;
+    private final Duration readYourWritesWindow;
+    private final String readYourWritesCookie;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration readYourWritesWindow, String readYourWritesCookie) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.readYourWritesCookie = readYourWritesCookie;
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWrite();
+            }
+            return PRIMARY;
+        }
+
+        if (PRIMARY_READS.get() != null || isWithinReadYourWritesWindow()) {
+            return PRIMARY;
+        }
+
+        List<String> candidates = this.healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+
+        return candidates.get(Math.floorMod(this.nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Fetches a connection from the routed target. A replica that cannot hand out a connection is taken out of
+     * rotation immediately and the request fails over to the primary instead of waiting for the next health check.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+
+        if (PRIMARY.equals(key)) {
+            return target.getConnection();
+        }
+
+        try {
+            return target.getConnection();
+        } catch (SQLException ex) {
+            log.warn("Replica {} failed to provide a connection, failing over to the primary: {}", key, ex.getMessage());
+            markUnhealthy((String) key);
+
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+    }
+
+    /**
+     * Validates a connection from every replica and keeps only the responsive ones in rotation.
+     *
+     * @param timeout The maximum time a replica may take to validate a connection.
+     */
+    public synchronized void checkHealth(Duration timeout) {
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        List<String> healthy = new ArrayList<>(this.replicas.size());
+
+        for (Map.Entry<String, DataSource> replica : this.replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection()) {
+                if (connection.isValid(timeoutSeconds)) {
+                    healthy.add(replica.getKey());
+                    continue;
+                }
+            } catch (Exception ex) {
+                log.debug("Replica {} health check failed: {}", replica.getKey(), ex.getMessage());
+            }
+            if (this.healthyReplicas.contains(replica.getKey())) {
+                log.warn("Replica {} is unhealthy, routing its reads to the remaining replicas.", replica.getKey());
+            }
+        }
+
+        for (String replica : healthy) {
+            if (!this.healthyReplicas.contains(replica)) {
+                log.info("Replica {} is healthy again, adding it back to rotation.", replica);
+            }
+        }
+
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * Closes the replica pools. The primary is managed separately and left open.
+     */
+    public void close() {
+        for (DataSource replica : this.replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Could not close replica data source: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the read-only transactions the current thread starts to the primary until {@link #restoreReads} is called.
+     * A transaction that already holds a replica connection keeps it.
+     *
+     * @return Whether reads already went to the primary, to be passed to restoreReads.
+     */
+    static boolean readFromPrimary() {
+        boolean previous = PRIMARY_READS.get() != null;
+        PRIMARY_READS.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restoreReads(boolean primary) {
+        if (!primary) {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    List<String> getHealthyReplicas() {
+        return this.healthyReplicas;
+    }
+
+    private synchronized void markUnhealthy(String replica) {
+        List<String> healthy = new ArrayList<>(this.healthyReplicas);
+
+        healthy.remove(replica);
+
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * Records a write of the current request, so that its remaining reads stay on the primary, and sets the cookie
+     * once the transaction commits. Transactions outside a request are background work no client waits to read.
+     */
+    private void markWrite() {
+        if (this.readYourWritesWindow.isZero() || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        attributes.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis(), RequestAttributes.SCOPE_REQUEST);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            setLastWriteCookie(attributes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    setLastWriteCookie(attributes);
+                }
+            }
+        });
+    }
+
+    private void setLastWriteCookie(ServletRequestAttributes attributes) {
+        long lastWrite = System.currentTimeMillis();
+        attributes.setAttribute(LAST_WRITE_ATTRIBUTE, lastWrite, RequestAttributes.SCOPE_REQUEST);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(this.readYourWritesCookie, Long.toString(lastWrite))
+                .path("/").httpOnly(true).sameSite("Lax").maxAge(this.readYourWritesWindow).build().toString());
+    }
+
+    /**
+     * Whether the current request wrote, or carries the cookie of a write, less than the read-your-writes window ago.
+     */
+    private boolean isWithinReadYourWritesWindow() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+
+        long lastWrite = attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long written
+                ? written : lastWriteFromCookie(attributes.getRequest());
+
+        return System.currentTimeMillis() - lastWrite < this.readYourWritesWindow.toMillis();
+    }
+
+    private long lastWriteFromCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (this.readYourWritesCookie.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
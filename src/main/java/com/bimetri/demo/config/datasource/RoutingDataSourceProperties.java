@@ -0,0 +1,57 @@
+package com.bimetri.demo.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.datasource.routing")
+public class RoutingDataSourceProperties {
+    /**
+     * Whether read-only transactions are routed to the configured replicas.
+     */
+    private boolean enabled;
+
+    /**
+     * How long the reads of a client stay on the primary after one of its write transactions commits, so it sees its
+     * own writes. Should exceed the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    /**
+     * Name of the cookie carrying the time of a client's last write, set on the response of a request that wrote.
+     */
+    private String readYourWritesCookie = "bimetri-last-write";
+
+    /**
+     * Delay between two replica health checks.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time a replica may take to validate a connection before it is taken out of rotation.
+     */
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        /**
+         * Defaults to spring.datasource.username when empty.
+         */
+        private String username;
+        /**
+         * Defaults to spring.datasource.password when empty.
+         */
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bimetri.demo.config.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "bimetri.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfiguration {
+    /**
+     * The idempotency filter, with its responses in a bounded cache that expires them ttl after they were recorded.
+     * The cache is reported in the actuator cache metrics as "idempotency".
+     */
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        Cache<String, StoredResponse> responses = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxEntries())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+
+        return new IdempotencyFilter(properties, responses, objectMapper);
+    }
+}
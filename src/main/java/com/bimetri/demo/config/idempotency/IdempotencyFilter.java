@@ -0,0 +1,146 @@
+package com.bimetri.demo.config.idempotency;
+
+import com.bimetri.demo.config.RequestRoute;
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.exception.message.ApiResponseError;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Answers requests that repeat an Idempotency-Key header with the response recorded for the first request with that
+ * key, without running the request again.
+ * <p>
+ * Responses are recorded unless they are server errors or 429, which the client should retry. A key reused for a
+ * different method, URI or body is rejected with 422, and a key whose first request is still running with 409. The
+ * responses are kept in memory on each instance, so a retry only replays when it reaches the same instance.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter implements Ordered {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * After the observation filter, so replays are recorded in http.server.requests, and before admission control,
+     * so replays do not use up the client's rate.
+     */
+    private static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final List<RequestRoute> routes;
+    private final Cache<String, StoredResponse> responses;
+    private final ObjectMapper objectMapper;
+
+    IdempotencyFilter(IdempotencyProperties properties, Cache<String, StoredResponse> responses, ObjectMapper objectMapper) {
+        this.routes = properties.getRoutes().stream().map(RequestRoute::parse).toList();
+        this.responses = responses;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !RequestRoute.anyMatches(this.routes, request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST, String.format(ErrorMessage.OUT_OF_RANGE, IDEMPOTENCY_KEY_HEADER + " length", 1, MAX_KEY_LENGTH));
+            return;
+        }
+
+        // Tenants choose their keys independently, so equal keys of two tenants are different requests.
+        key = TenantContext.qualify(key);
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cachedRequest);
+        StoredResponse pending = StoredResponse.pending(fingerprint);
+
+        // Looked up first so that replays are counted as cache hits in the metrics.
+        StoredResponse existing = this.responses.getIfPresent(key);
+        if (existing == null) {
+            existing = this.responses.asMap().putIfAbsent(key, pending);
+        }
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY, ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+            } else if (existing.isPending()) {
+                reject(request, response, HttpStatus.CONFLICT, ErrorMessage.IDEMPOTENCY_KEY_IN_PROGRESS);
+            } else {
+                replay(existing, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+
+            int status = cachingResponse.getStatus();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                this.responses.asMap().replace(key, pending,
+                        new StoredResponse(fingerprint, status, cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                recorded = true;
+            }
+        } finally {
+            if (!recorded) {
+                this.responses.asMap().remove(key, pending);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        log.debug("Rejected {} {}: {}", request.getMethod(), request.getRequestURI(), message);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), new ApiResponseError(status, message, "uri=" + request.getRequestURI()));
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n').getBytes(StandardCharsets.UTF_8));
+            digest.update(request.getBody());
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bimetri.demo.config.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.idempotency")
+public class IdempotencyProperties {
+    /**
+     * Whether requests to the idempotent routes carrying an Idempotency-Key header are answered only once.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Idempotent routes as "METHOD /path/pattern".
+     */
+    private List<String> routes = new ArrayList<>(List.of("POST /courses/enroll", "POST /courses", "POST /students"));
+
+    /**
+     * How long a response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Maximum number of responses kept; the least recently used are evicted first.
+     */
+    private long maxEntries = 10_000;
+}
@@ -0,0 +1,17 @@
+package com.bimetri.demo.config.idempotency;
+
+/**
+ * The response recorded for an idempotency key, or a placeholder while the first request with the key is running.
+ *
+ * @param fingerprint Hash of the method, URI and body of the request that used the key first.
+ * @param status      The response status, or 0 while the request is running.
+ */
+record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+    static StoredResponse pending(String fingerprint) {
+        return new StoredResponse(fingerprint, 0, null, null);
+    }
+
+    boolean isPending() {
+        return this.status == 0;
+    }
+}
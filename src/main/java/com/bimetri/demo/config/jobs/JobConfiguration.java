@@ -0,0 +1,9 @@
+package com.bimetri.demo.config.jobs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(JobProperties.class)
+public class JobConfiguration {
+}
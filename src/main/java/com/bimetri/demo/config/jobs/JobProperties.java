@@ -0,0 +1,57 @@
+package com.bimetri.demo.config.jobs;
+
+import com.bimetri.demo.dto.enums.JobType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.jobs")
+public class JobProperties {
+    /**
+     * Where job uploads and results are stored. With several instances this must be a shared directory, because a
+     * job may run on a different instance than the one serving its result.
+     */
+    private Path directory = Path.of("jobs");
+
+    /**
+     * Delay between two polls for queued jobs, which also report the progress of the running jobs.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * A running job whose instance has not reported progress for this long is queued again.
+     */
+    private Duration staleAfter = Duration.ofMinutes(1);
+
+    /**
+     * The maximum number of jobs of each type running at once on each instance. Types not listed run one at a time.
+     */
+    private Map<JobType, Integer> concurrency = new EnumMap<>(JobType.class);
+
+    /**
+     * The maximum number of queued jobs, across all types and instances. Further submissions are rejected with 429.
+     */
+    private int maxQueued = 100;
+
+    /**
+     * The maximum size of an uploaded job input.
+     */
+    private DataSize maxInputSize = DataSize.ofMegabytes(100);
+
+    /**
+     * How long finished jobs and their results are kept.
+     */
+    private Duration retention = Duration.ofDays(1);
+
+    public int getConcurrency(JobType type) {
+        return this.concurrency.getOrDefault(type, 1);
+    }
+}
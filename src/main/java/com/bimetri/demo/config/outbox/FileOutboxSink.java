@@ -0,0 +1,47 @@
+package com.bimetri.demo.config.outbox;
+
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one line of JSON, and forces the batch to disk before it is marked published.
+ */
+class FileOutboxSink implements OutboxSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<OutboxEventDto> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEventDto event : events) {
+            lines.write(this.objectMapper.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+
+        Path parent = this.path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bimetri.demo.config.outbox;
+
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to the callback URL.
+ */
+class HttpOutboxSink implements OutboxSink {
+    private final RestClient restClient;
+    private final String url;
+
+    HttpOutboxSink(RestClient restClient, String url) {
+        this.restClient = restClient;
+        this.url = url;
+    }
+
+    @Override
+    public void publish(List<OutboxEventDto> events) throws IOException {
+        try {
+            this.restClient.post().uri(this.url).contentType(MediaType.APPLICATION_JSON).body(events).retrieve().toBodilessEntity();
+        } catch (RestClientException e) {
+            throw new IOException("Could not deliver " + events.size() + " outbox event(s) to " + this.url, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bimetri.demo.config.outbox;
+
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Stands in for a message broker: publishes each event as an application event, which in-process consumers receive
+ * with {@code @EventListener} methods taking an OutboxEventDto. A listener that throws fails the batch.
+ */
+class LocalOutboxSink implements OutboxSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    LocalOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<OutboxEventDto> events) {
+        events.forEach(this.eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,37 @@
+package com.bimetri.demo.config.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+    /**
+     * The sink selected by bimetri.outbox.sink.
+     */
+    @Bean
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper, RestClient.Builder restClientBuilder,
+                                 ApplicationEventPublisher eventPublisher) {
+        return switch (properties.getSink()) {
+            case FILE -> new FileOutboxSink(properties.getFile().getPath(), objectMapper);
+            case HTTP -> {
+                Assert.isTrue(StringUtils.hasText(properties.getHttp().getUrl()), "bimetri.outbox.http.url is required by the HTTP outbox sink");
+                ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                        .withConnectTimeout(properties.getHttp().getTimeout())
+                        .withReadTimeout(properties.getHttp().getTimeout());
+                RestClient restClient = restClientBuilder.requestFactory(ClientHttpRequestFactories.get(settings)).build();
+
+                yield new HttpOutboxSink(restClient, properties.getHttp().getUrl());
+            }
+            case LOCAL -> new LocalOutboxSink(eventPublisher);
+        };
+    }
+}
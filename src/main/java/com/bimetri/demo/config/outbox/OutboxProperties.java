@@ -0,0 +1,53 @@
+package com.bimetri.demo.config.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.outbox")
+public class OutboxProperties {
+    /**
+     * Where the relay delivers the events.
+     */
+    private OutboxSinkType sink = OutboxSinkType.LOCAL;
+
+    /**
+     * Delay between two runs of the relay. Each run delivers all pending events, batch-size at a time.
+     */
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    /**
+     * The maximum number of events delivered to the sink at once.
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long published events are kept for replay.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    private File file = new File();
+
+    private Http http = new Http();
+
+    @Getter
+    @Setter
+    public static class File {
+        private Path path = Path.of("outbox", "events.jsonl");
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+        /**
+         * The callback URL. Any response other than 2xx fails the batch, which is retried on the next run.
+         */
+        private String url;
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bimetri.demo.config.outbox;
+
+import com.bimetri.demo.dto.response.OutboxEventDto;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Delivers outbox events to downstream consumers.
+ * <p>
+ * Delivery is at least once: a batch that fails, or whose success is not recorded, is delivered again in full on the
+ * next relay run. Consumers skip the events whose ID they have already seen for the aggregate.
+ */
+public interface OutboxSink {
+    /**
+     * @param events The events to deliver, in ID order.
+     * @throws IOException if the events could not be delivered.
+     */
+    void publish(List<OutboxEventDto> events) throws IOException;
+}
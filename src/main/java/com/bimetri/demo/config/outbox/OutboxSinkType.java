@@ -0,0 +1,16 @@
+package com.bimetri.demo.config.outbox;
+
+public enum OutboxSinkType {
+    /**
+     * Appends the events as JSON lines to a file.
+     */
+    FILE,
+    /**
+     * POSTs each batch of events as a JSON array to a callback URL.
+     */
+    HTTP,
+    /**
+     * Publishes the events as application events to in-process listeners.
+     */
+    LOCAL
+}
@@ -0,0 +1,39 @@
+package com.bimetri.demo.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * The fields shared by the JFR events ProfilingAspect emits around service and repository calls. Their duration is the
+ * duration of the call, and they are recorded on the thread that made it, so in JDK Mission Control they nest with
+ * the JDBC, socket and lock events of the same request.
+ */
+@Setter
+@Category("Bimetri")
+@StackTrace(false)
+public abstract class CallEvent extends Event {
+    @Label("Tenant")
+    protected String tenant;
+
+    @Label("Class")
+    protected String type;
+
+    @Label("Method")
+    protected String method;
+
+    @Label("Entities")
+    @Description("The size of the returned collection, page or array, 1 for a single returned object, otherwise 0")
+    protected long entities;
+
+    @Label("Queries")
+    @Description("The SQL statements run during the call, including those of nested calls")
+    protected long queries;
+
+    @Label("Failed")
+    @Description("Whether the call threw an exception")
+    protected boolean failed;
+}
@@ -0,0 +1,141 @@
+package com.bimetri.demo.config.profiling;
+
+import com.bimetri.demo.dto.response.RecordingResponseDto;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * /actuator/flightrecorder: records a Java Flight Recorder session on demand and serves the .jfr file, to be opened in
+ * JDK Mission Control or with the jfr tool. One recording runs at a time, and only the last one is kept.
+ * <p>
+ * Recordings include the system properties and environment variables, so the endpoint is disabled unless
+ * management.endpoint.flightrecorder.enabled is set, which should only be done where the actuator is not public.
+ */
+@Slf4j
+@Endpoint(id = "flightrecorder", enableByDefault = false)
+public class FlightRecorderEndpoint {
+    private final ProfilingProperties properties;
+    private Recording recording;
+    private String settings;
+    private Path file;
+
+    public FlightRecorderEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts a recording that stops by itself after the duration, discarding the previous one.
+     *
+     * @param duration How long to record, at most max-duration. Defaults to default-duration.
+     * @param settings The JFR settings to record with, default or profile. Defaults to default-settings.
+     * @return The recording started.
+     * @throws InvalidEndpointRequestException If a recording is running, or the duration or settings are invalid.
+     */
+    @WriteOperation
+    public synchronized RecordingResponseDto start(@Nullable Duration duration, @Nullable String settings) {
+        if (this.recording != null && this.recording.getState() == RecordingState.RUNNING) {
+            String message = "Recording " + this.recording.getId() + " is still running";
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        Duration recordingDuration = duration == null ? this.properties.getDefaultDuration() : duration;
+        if (recordingDuration.isNegative() || recordingDuration.isZero() || recordingDuration.compareTo(this.properties.getMaxDuration()) > 0) {
+            String message = "The duration must be positive and at most " + this.properties.getMaxDuration();
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        String settingsName = settings == null ? this.properties.getDefaultSettings() : settings;
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException ex) {
+            String message = "Unknown JFR settings: " + settingsName;
+            throw new InvalidEndpointRequestException(message, message);
+        }
+
+        discard();
+        try {
+            Files.createDirectories(this.properties.getDirectory());
+            Recording started = new Recording(configuration);
+            this.file = this.properties.getDirectory().resolve("bimetri-" + started.getId() + ".jfr");
+            started.setName("bimetri");
+            started.setDuration(recordingDuration);
+            started.setDestination(this.file);
+            started.start();
+            this.recording = started;
+            this.settings = settingsName;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        log.info("Started flight recording {} with {} settings for {}.", this.recording.getId(), settingsName, recordingDuration);
+        return toDto();
+    }
+
+    /**
+     * @return The last recording, or 404 if there is none.
+     */
+    @ReadOperation
+    public synchronized RecordingResponseDto status() {
+        return this.recording == null ? null : toDto();
+    }
+
+    /**
+     * Stops the recording if it is still running and streams its .jfr file.
+     *
+     * @param id The ID of the last recording.
+     * @return The .jfr file, or 404 if id is not the last recording.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource download(@Selector long id) {
+        if (this.recording == null || this.recording.getId() != id) {
+            return null;
+        }
+        if (this.recording.getState() == RecordingState.RUNNING) {
+            this.recording.stop();
+            log.info("Stopped flight recording {} early for download.", id);
+        }
+        return new FileSystemResource(this.file);
+    }
+
+    /**
+     * Stops the last recording and deletes its file.
+     */
+    @DeleteOperation
+    public synchronized void discard() {
+        if (this.recording == null) {
+            return;
+        }
+        this.recording.close();
+        try {
+            Files.deleteIfExists(this.file);
+        } catch (IOException ex) {
+            log.warn("Could not delete flight recording file {}: {}", this.file, ex.getMessage());
+        }
+        this.recording = null;
+        this.settings = null;
+        this.file = null;
+    }
+
+    private RecordingResponseDto toDto() {
+        return new RecordingResponseDto(this.recording.getId(), this.recording.getState().name(), this.settings, this.recording.getDuration(),
+                this.recording.getStartTime(), this.recording.getSize());
+    }
+}
@@ -0,0 +1,92 @@
+package com.bimetri.demo.config.profiling;
+
+import com.bimetri.demo.config.querybudget.QueryTracker;
+import com.bimetri.demo.config.tenancy.TenantContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Emits a ServiceCallEvent around every service method and a RepositoryCallEvent around every repository method.
+ * While no recording enables the events, a call only pays for checking that.
+ */
+@Aspect
+public class ProfilingAspect {
+    private static final String APPLICATION_PACKAGE = "com.bimetri.demo";
+
+    @Around("within(com.bimetri.demo.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object serviceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new ServiceCallEvent(), joinPoint);
+    }
+
+    @Around("within(com.bimetri.demo.repository..*) || this(org.springframework.data.repository.Repository)")
+    public Object repositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new RepositoryCallEvent(), joinPoint);
+    }
+
+    private Object record(CallEvent event, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        long queriesBefore = QueryTracker.executed();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.setEntities(countEntities(result));
+            return result;
+        } catch (Throwable ex) {
+            event.setFailed(true);
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setTenant(TenantContext.getTenant());
+                event.setType(typeName(joinPoint));
+                event.setMethod(joinPoint.getSignature().getName());
+                event.setQueries(QueryTracker.executed() - queriesBefore);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * The simple name of the class or interface called. Methods Spring Data repositories inherit, such as findById,
+     * are attributed to the application's repository interface rather than to the Spring Data one declaring them.
+     */
+    private static String typeName(ProceedingJoinPoint joinPoint) {
+        Class<?> declaringType = joinPoint.getSignature().getDeclaringType();
+        if (!declaringType.getPackageName().startsWith(APPLICATION_PACKAGE) && joinPoint.getTarget() != null) {
+            for (Class<?> type : ClassUtils.getAllInterfaces(joinPoint.getTarget())) {
+                if (type.getPackageName().startsWith(APPLICATION_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return declaringType.getSimpleName();
+    }
+
+    static long countEntities(Object result) {
+        if (result == null || result instanceof Number || result instanceof Boolean || result instanceof CharSequence) {
+            return 0;
+        } else if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        } else if (result instanceof Map<?, ?> map) {
+            return map.size();
+        } else if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        } else if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bimetri.demo.config.profiling;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfiguration {
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public FlightRecorderEndpoint flightRecorderEndpoint(ProfilingProperties properties) {
+        return new FlightRecorderEndpoint(properties);
+    }
+
+    /**
+     * Reads the statement counts from the QueryBudgetDataSource, which wraps the DataSource while the events are on.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bimetri.profiling.events", havingValue = "true", matchIfMissing = true)
+    public ProfilingAspect profilingAspect() {
+        return new ProfilingAspect();
+    }
+}
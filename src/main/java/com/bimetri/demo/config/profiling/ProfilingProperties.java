@@ -0,0 +1,40 @@
+package com.bimetri.demo.config.profiling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.profiling")
+public class ProfilingProperties {
+    /**
+     * Whether service and repository calls emit the bimetri JFR events. The events cost next to nothing while no
+     * recording is running.
+     */
+    private boolean events = true;
+
+    /**
+     * How long a recording started without a duration runs before it stops by itself.
+     */
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /**
+     * The longest duration a recording may be started with.
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * The JFR settings of recordings started without any: default (about 1% overhead) or profile (about 2%, with
+     * method sampling every 10 ms).
+     */
+    private String defaultSettings = "profile";
+
+    /**
+     * Where the .jfr file of the recording is written. Only the file of the last recording is kept.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "bimetri-jfr");
+}
@@ -0,0 +1,9 @@
+package com.bimetri.demo.config.profiling;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bimetri.RepositoryCall")
+@Label("Repository Call")
+public class RepositoryCallEvent extends CallEvent {
+}
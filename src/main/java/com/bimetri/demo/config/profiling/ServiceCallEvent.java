@@ -0,0 +1,9 @@
+package com.bimetri.demo.config.profiling;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bimetri.ServiceCall")
+@Label("Service Call")
+public class ServiceCallEvent extends CallEvent {
+}
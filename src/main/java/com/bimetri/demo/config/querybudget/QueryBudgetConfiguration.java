@@ -0,0 +1,58 @@
+package com.bimetri.demo.config.querybudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryBudgetConfiguration {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public QueryBudgetFilter queryBudgetFilter(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        return new QueryBudgetFilter(properties, meterRegistry);
+    }
+
+    /**
+     * Wraps the application DataSource in a {@link QueryBudgetDataSource}, outside of the wrappers added by ordered
+     * post-processors such as the tenant one, so that a LazyConnectionDataSourceProxy still fetches connections on
+     * first use and the statements switching a connection's schema are not counted. Installed for the query budget and
+     * for the statement counts of the profiling events.
+     */
+    @Bean
+    @Conditional(StatementCountingCondition.class)
+    public static BeanPostProcessor queryBudgetDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new QueryBudgetDataSource(dataSource);
+            }
+        };
+    }
+
+    static class StatementCountingCondition extends AnyNestedCondition {
+        StatementCountingCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "bimetri.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+        static class QueryBudget {
+        }
+
+        @ConditionalOnProperty(name = "bimetri.profiling.events", havingValue = "true", matchIfMissing = true)
+        static class ProfilingEvents {
+        }
+    }
+}
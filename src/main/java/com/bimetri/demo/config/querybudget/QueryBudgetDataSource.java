@@ -0,0 +1,80 @@
+package com.bimetri.demo.config.querybudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Reports every statement executed on its connections to the QueryTracker of the current request, whether Hibernate,
+ * a native query or the JdbcTemplate runs it, and times its execution. A batch counts as one statement.
+ */
+public class QueryBudgetDataSource extends DelegatingDataSource {
+    public QueryBudgetDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(QueryBudgetDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "prepareStatement", "prepareCall" -> statement(invoke(target, method, args), method.getReturnType(), (Connection) proxy, (String) args[0]);
+                    case "createStatement" -> statement(invoke(target, method, args), method.getReturnType(), (Connection) proxy, null);
+                    default -> invoke(target, method, args);
+                });
+    }
+
+    /**
+     * @param sql The SQL of a prepared statement, or null for a plain statement, whose SQL comes with each execution.
+     */
+    private static Object statement(Object target, Class<?> type, Connection connection, String sql) {
+        String[] batch = {null};
+        return Proxy.newProxyInstance(QueryBudgetDataSource.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String statement ? statement : sql != null ? sql : batch[0];
+                QueryTracker.executionStarted(executed == null ? "" : executed);
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    QueryTracker.executionEnded();
+                }
+            }
+            return switch (name) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "getConnection" -> connection;
+                case "addBatch" -> {
+                    if (args != null && args.length > 0 && args[0] instanceof String statement) {
+                        batch[0] = statement;
+                    }
+                    yield invoke(target, method, args);
+                }
+                default -> invoke(target, method, args);
+            };
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bimetri.demo.config.querybudget;
+
+import com.bimetri.demo.config.RequestRoute;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts and times the statements each request runs, and reports requests running more than their budget of
+ * statements, or the same statement more than max-repeats times, which usually is an N+1 query. Violations are logged
+ * and counted in bimetri.query.budget.violations; with fail-on-violation the request fails instead, so that tests
+ * catch them.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter implements Ordered {
+    private final QueryBudgetProperties properties;
+    private final List<Budget> budgets;
+    private final DistributionSummary queries;
+    private final Counter tooManyQueries;
+    private final Counter repeatedQueries;
+
+    QueryBudgetFilter(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.budgets = properties.getRoutes().stream().map(route -> new Budget(RequestRoute.parse(route.getRoute()), route.getMaxQueries(),
+                route.getMaxRepeats() != null ? route.getMaxRepeats() : properties.getMaxRepeats())).toList();
+        this.queries = DistributionSummary.builder("bimetri.request.queries")
+                .description("SQL statements run per request").register(meterRegistry);
+        this.tooManyQueries = Counter.builder("bimetri.query.budget.violations").tag("kind", "queries")
+                .description("Requests running more statements than their budget, or the same one too often").register(meterRegistry);
+        this.repeatedQueries = Counter.builder("bimetri.query.budget.violations").tag("kind", "repeats")
+                .description("Requests running more statements than their budget, or the same one too often").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryTracker tracker = QueryTracker.start(this.properties.getSlowQuery());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryTracker.stop();
+        }
+
+        this.queries.record(tracker.getCount());
+        String violation = check(request, tracker);
+        if (violation != null) {
+            if (this.properties.isFailOnViolation()) {
+                throw new IllegalStateException(violation);
+            }
+            log.warn(violation);
+        }
+    }
+
+    private String check(HttpServletRequest request, QueryTracker tracker) {
+        String requestLine = request.getMethod() + " " + request.getRequestURI();
+        Budget budget = budget(request);
+        int maxQueries = budget.maxQueries();
+        if (tracker.getCount() > maxQueries) {
+            this.tooManyQueries.increment();
+            return String.format("%s ran %d queries in %d ms, more than its budget of %d.", requestLine, tracker.getCount(), tracker.getTime().toMillis(), maxQueries);
+        }
+
+        Map.Entry<String, Integer> mostRepeated = tracker.getMostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() > budget.maxRepeats()) {
+            this.repeatedQueries.increment();
+            return String.format("%s ran the same query %d times, more than %d; probably an N+1 query: %s", requestLine, mostRepeated.getValue(),
+                    budget.maxRepeats(), mostRepeated.getKey());
+        }
+        return null;
+    }
+
+    private Budget budget(HttpServletRequest request) {
+        Budget fallback = new Budget(null, this.properties.getMaxQueries(), this.properties.getMaxRepeats());
+        if (this.budgets.isEmpty()) {
+            return fallback;
+        }
+
+        PathContainer path = RequestRoute.path(request);
+        return this.budgets.stream().filter(budget -> budget.route().matches(request.getMethod(), path)).findFirst().orElse(fallback);
+    }
+
+    private record Budget(RequestRoute route, int maxQueries, int maxRepeats) {
+    }
+}
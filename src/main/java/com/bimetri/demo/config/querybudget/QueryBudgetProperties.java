@@ -0,0 +1,59 @@
+package com.bimetri.demo.config.querybudget;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.query-budget")
+public class QueryBudgetProperties {
+    /**
+     * Whether the SQL statements each request runs are counted and checked against the budget.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of statements a request may run, unless one of the routes sets its own.
+     */
+    private int maxQueries = 20;
+
+    /**
+     * How often a request may run the same statement, apart from its parameters, before it is reported as an N+1
+     * query.
+     */
+    private int maxRepeats = 5;
+
+    /**
+     * Statements running longer than this are logged with their SQL.
+     */
+    private Duration slowQuery = Duration.ofMillis(500);
+
+    /**
+     * Whether a request breaking its budget fails with an exception instead of a warning. Meant for tests.
+     */
+    private boolean failOnViolation = false;
+
+    /**
+     * Budgets of single routes. The first route matching a request applies.
+     */
+    private List<RouteBudget> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class RouteBudget {
+        /**
+         * The route as "METHOD /path/pattern".
+         */
+        private String route;
+        private int maxQueries;
+        /**
+         * How often a request of the route may run the same statement. Defaults to max-repeats.
+         */
+        private Integer maxRepeats;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bimetri.demo.config.querybudget;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The statements the current request has run so far. QueryBudgetDataSource reports each statement executed on a
+ * connection to the tracker of its thread; statements outside a tracked request only add to the thread's total.
+ */
+@Slf4j
+public final class QueryTracker {
+    private static final ThreadLocal<QueryTracker> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> EXECUTED = ThreadLocal.withInitial(() -> new long[1]);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final long slowQueryNanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int count;
+    private long nanos;
+    private String statement;
+    private long statementStarted;
+
+    private QueryTracker(Duration slowQuery) {
+        this.slowQueryNanos = slowQuery.toNanos();
+    }
+
+    /**
+     * Starts tracking the statements of the current thread, until {@link #stop()}.
+     */
+    static QueryTracker start(Duration slowQuery) {
+        QueryTracker tracker = new QueryTracker(slowQuery);
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void executionStarted(String sql) {
+        EXECUTED.get()[0]++;
+        QueryTracker tracker = CURRENT.get();
+        if (tracker != null) {
+            tracker.count++;
+            tracker.statement = sql;
+            tracker.shapes.merge(shape(sql), 1, Integer::sum);
+            tracker.statementStarted = System.nanoTime();
+        }
+    }
+
+    static void executionEnded() {
+        QueryTracker tracker = CURRENT.get();
+        if (tracker != null && tracker.statementStarted != 0) {
+            long elapsed = System.nanoTime() - tracker.statementStarted;
+            tracker.statementStarted = 0;
+            tracker.nanos += elapsed;
+            if (elapsed > tracker.slowQueryNanos) {
+                log.warn("Slow query took {} ms: {}", elapsed / 1_000_000, tracker.statement);
+            }
+        }
+    }
+
+    /**
+     * @return The number of statements executed on the current thread so far, in or outside a tracked request.
+     */
+    public static long executed() {
+        return EXECUTED.get()[0];
+    }
+
+    /**
+     * The statement with its literals replaced by ? and its parameter lists collapsed, so that the same query run for
+     * different IDs, or for IN lists of different lengths, has the same shape.
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return PARAMETER_LIST.matcher(shape).replaceAll("?");
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(this.nanos);
+    }
+
+    /**
+     * @return The shape run most often and how often, or null if no statement ran.
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return this.shapes.entrySet().stream().max(Comparator.comparingInt(Map.Entry::getValue)).orElse(null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bimetri.demo.config.tenancy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfiguration {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.tenancy", name = "enabled", havingValue = "true")
+    public TenantFilter tenantFilter(TenancyProperties properties, Tenants tenants, ObjectMapper objectMapper) {
+        return new TenantFilter(properties, tenants, objectMapper);
+    }
+
+    /**
+     * Wraps the application DataSource in a {@link TenantSchemaDataSource}. Behind a LazyConnectionDataSourceProxy,
+     * its target is wrapped instead, so connections are still only fetched, and routed to a replica, on first use.
+     * Ordered, so it sees the DataSource before the unordered post-processors wrap it.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.tenancy", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor tenantSchemaDataSourcePostProcessor() {
+        return new TenantSchemaDataSourcePostProcessor();
+    }
+
+    /**
+     * Migrates the public schema of the default tenant, then creates and migrates the schema of every other tenant
+     * with the same migrations.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.tenancy", name = "enabled", havingValue = "true")
+    public FlywayMigrationStrategy tenantMigrationStrategy(Tenants tenants) {
+        return flyway -> {
+            flyway.migrate();
+            for (String tenant : tenants.getAll()) {
+                if (!TenantContext.DEFAULT_TENANT.equals(tenant)) {
+                    String schema = TenantContext.schemaOf(tenant);
+                    log.info("Migrating schema {} of tenant {}.", schema, tenant);
+                    Flyway.configure().configuration(flyway.getConfiguration()).schemas(schema).defaultSchema(schema).createSchemas(true).load().migrate();
+                }
+            }
+        };
+    }
+
+    /**
+     * Keeps a separate cache per tenant: cache names are qualified with the tenant, see {@link TenantContext#qualify},
+     * and created on first use.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.tenancy", name = "enabled", havingValue = "true")
+    public CacheManagerCustomizer<CaffeineCacheManager> tenantCacheManagerCustomizer() {
+        return cacheManager -> cacheManager.setCacheNames(null);
+    }
+
+    /**
+     * Tags the http.server.requests metrics with the tenant of the request.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "bimetri.tenancy", name = "enabled", havingValue = "true")
+    public ServerRequestObservationConvention tenantServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object tenant = context.getCarrier().getAttribute(TenantFilter.TENANT_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of("tenant", tenant != null ? tenant.toString() : "none"));
+            }
+        };
+    }
+
+    private static class TenantSchemaDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            if (bean instanceof LazyConnectionDataSourceProxy lazy) {
+                lazy.setTargetDataSource(new TenantSchemaDataSource(lazy.getTargetDataSource()));
+                return lazy;
+            }
+            return new TenantSchemaDataSource(dataSource);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
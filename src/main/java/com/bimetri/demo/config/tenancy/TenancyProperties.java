@@ -0,0 +1,29 @@
+package com.bimetri.demo.config.tenancy;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bimetri.tenancy")
+public class TenancyProperties {
+    /**
+     * Whether requests are routed to a tenant's schema by the tenant header.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The request header naming the tenant. Requests without it use the default tenant, stored in the public schema.
+     */
+    private String header = "X-Tenant-ID";
+
+    /**
+     * The tenants served besides the default one, each stored in the schema "tenant_" followed by its ID. Schemas are
+     * created and migrated at startup. IDs consist of lower-case letters, digits and underscores.
+     */
+    private List<String> tenants = new ArrayList<>();
+}
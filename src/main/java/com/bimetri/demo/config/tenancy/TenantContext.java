@@ -0,0 +1,79 @@
+package com.bimetri.demo.config.tenancy;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant the current thread works for. Connections taken from the pool while a tenant is set are switched to its
+ * schema, see {@link TenantSchemaDataSource}; without one, the default tenant and the public schema are used.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+    public static final String DEFAULT_SCHEMA = "public";
+    static final String SCHEMA_PREFIX = "tenant_";
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenant() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static boolean isDefault() {
+        return DEFAULT_TENANT.equals(getTenant());
+    }
+
+    /**
+     * @return The schema holding the current tenant's tables.
+     */
+    public static String getSchema() {
+        return schemaOf(getTenant());
+    }
+
+    /**
+     * Scopes a name shared by all tenants, such as a cache name, a lock name or an in-memory key, to the current
+     * tenant. Names of the default tenant are left unchanged.
+     *
+     * @param name The name to scope.
+     * @return The name, prefixed with the tenant ID unless it is the default tenant.
+     */
+    public static String qualify(String name) {
+        return isDefault() ? name : getTenant() + ":" + name;
+    }
+
+    /**
+     * Runs the task for the given tenant, restoring the current tenant afterwards.
+     */
+    public static void run(String tenant, Runnable task) {
+        call(tenant, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the task for the given tenant, restoring the current tenant afterwards.
+     */
+    public static <T> T call(String tenant, Supplier<T> task) {
+        String previous = CURRENT.get();
+        set(tenant);
+        try {
+            return task.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    static String schemaOf(String tenant) {
+        return DEFAULT_TENANT.equals(tenant) ? DEFAULT_SCHEMA : SCHEMA_PREFIX + tenant;
+    }
+
+    static void set(String tenant) {
+        if (tenant == null || DEFAULT_TENANT.equals(tenant)) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenant);
+        }
+    }
+}
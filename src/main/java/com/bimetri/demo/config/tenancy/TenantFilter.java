@@ -0,0 +1,66 @@
+package com.bimetri.demo.config.tenancy;
+
+import com.bimetri.demo.exception.message.ApiResponseError;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sets the tenant named by the tenant header for the rest of the request, before any other filter of the application
+ * runs. Requests for a tenant this instance does not serve are rejected with 404.
+ */
+@Slf4j
+public class TenantFilter extends OncePerRequestFilter implements Ordered {
+    /**
+     * The request attribute holding the tenant, kept after the request so that metrics can be tagged with it.
+     */
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+
+    private final TenancyProperties properties;
+    private final Tenants tenants;
+    private final ObjectMapper objectMapper;
+
+    TenantFilter(TenancyProperties properties, Tenants tenants, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.tenants = tenants;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 5;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(this.properties.getHeader());
+        String tenant = StringUtils.hasText(header) ? header.trim() : TenantContext.DEFAULT_TENANT;
+        if (!this.tenants.exists(tenant)) {
+            log.debug("Rejected {} {} for unknown tenant: {}", request.getMethod(), request.getRequestURI(), tenant);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            this.objectMapper.writeValue(response.getOutputStream(),
+                    new ApiResponseError(HttpStatus.NOT_FOUND, String.format(ErrorMessage.TENANT_NOT_FOUND, tenant), "uri=" + request.getRequestURI()));
+            return;
+        }
+
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        TenantContext.set(tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.set(null);
+        }
+    }
+}
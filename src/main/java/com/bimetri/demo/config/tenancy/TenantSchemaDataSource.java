@@ -0,0 +1,59 @@
+package com.bimetri.demo.config.tenancy;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Hands out connections whose search_path starts with the current tenant's schema, so every query, whether run by
+ * Hibernate, a native query or the JdbcTemplate, reads and writes the tables of that tenant only. The public schema
+ * stays on the path for the functions and operators of extensions such as pg_trgm.
+ * <p>
+ * The schema set on each physical connection is remembered, so a connection handed out for the tenant it last served
+ * needs no extra round trip. The change is committed right away, also on pools that hand out connections with
+ * auto-commit off, so a later rollback of the caller's transaction cannot undo it behind that record.
+ */
+public class TenantSchemaDataSource extends DelegatingDataSource {
+    private final Map<Connection, String> schemas = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public TenantSchemaDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return switchSchema(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return switchSchema(super.getConnection(username, password));
+    }
+
+    private Connection switchSchema(Connection connection) throws SQLException {
+        String schema = TenantContext.getSchema();
+        Connection physical = connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+        if (schema.equals(this.schemas.get(physical))) {
+            return connection;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(TenantContext.DEFAULT_SCHEMA.equals(schema) ? "SET search_path TO public" : "SET search_path TO " + schema + ", public");
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+        this.schemas.put(physical, schema);
+
+        return connection;
+    }
+}
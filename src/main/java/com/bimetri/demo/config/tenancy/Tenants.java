@@ -0,0 +1,73 @@
+package com.bimetri.demo.config.tenancy;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * The tenants this instance serves. Background work, which has no request naming a tenant, runs once per tenant with
+ * {@link #forEach(Consumer)}.
+ */
+@Component
+public class Tenants {
+    /**
+     * Tenant IDs become part of schema names, so they are restricted to characters that need no quoting.
+     */
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z][a-z0-9_]{0,39}");
+
+    private final List<String> all;
+
+    public Tenants(TenancyProperties properties) {
+        List<String> tenants = new ArrayList<>();
+        tenants.add(TenantContext.DEFAULT_TENANT);
+        if (properties.isEnabled()) {
+            for (String tenant : properties.getTenants()) {
+                if (!TENANT_ID.matcher(tenant).matches() || tenants.contains(tenant)) {
+                    throw new IllegalArgumentException("Invalid or duplicate tenant ID in bimetri.tenancy.tenants: " + tenant);
+                }
+                tenants.add(tenant);
+            }
+        }
+        this.all = Collections.unmodifiableList(tenants);
+    }
+
+    /**
+     * @return The default tenant followed by the configured tenants.
+     */
+    public List<String> getAll() {
+        return this.all;
+    }
+
+    public boolean exists(String tenant) {
+        return this.all.contains(tenant);
+    }
+
+    /**
+     * Runs the task once for every tenant, with the tenant set. A task failing for one tenant does not keep it from
+     * running for the others; the first failure is rethrown at the end.
+     *
+     * @param task Receives the ID of the tenant it runs for.
+     */
+    public void forEach(Consumer<String> task) {
+        RuntimeException failure = null;
+        for (String tenant : this.all) {
+            try {
+                TenantContext.run(tenant, () -> task.accept(tenant));
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
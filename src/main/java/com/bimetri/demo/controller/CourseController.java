@@ -2,9 +2,20 @@ package com.bimetri.demo.controller;
 
 import com.bimetri.demo.dto.defaultResponse.DefaultResponseDTO;
 import com.bimetri.demo.dto.defaultResponse.ResponseMessage;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.EnrollmentStatus;
+import com.bimetri.demo.dto.request.BulkDeleteRequestDto;
+import com.bimetri.demo.dto.request.CourseQueryDto;
 import com.bimetri.demo.dto.request.CourseRequestDto;
+import com.bimetri.demo.dto.request.SearchRequestDto;
+import com.bimetri.demo.dto.response.BulkDeleteResponseDto;
 import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.EnrollmentResponseDto;
+import com.bimetri.demo.dto.response.SearchResponseDto;
+import com.bimetri.demo.dto.response.WaitlistPositionDto;
+import com.bimetri.demo.service.BulkDeleteService;
 import com.bimetri.demo.service.CourseService;
+import com.bimetri.demo.service.WaitlistService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,24 +33,48 @@ import java.util.List;
 @Validated
 public class CourseController {
     private final CourseService courseService;
+    private final BulkDeleteService bulkDeleteService;
+    private final WaitlistService waitlistService;
 
     /**
      * Retrieves all courses.
      * <p>
      * This endpoint retrieves all courses available in the system.
+     * The list can be filtered by {@code name} prefix and {@code term}, sorted with {@code sort=-name} and narrowed to the listed
+     * fields with {@code fields=id}.
      *
+     * @param courseQueryDto The CourseQueryDto containing the optional filters, fields and sort order.
      * @return ResponseEntity containing a list of CourseResponseDto objects representing all courses,
      * along with an HTTP status code indicating the success of the operation.
      */
     @GetMapping
-    public ResponseEntity<List<CourseResponseDto>> getAll() {
+    public ResponseEntity<List<CourseResponseDto>> getAll(@Valid CourseQueryDto courseQueryDto) {
         log.info("Fetching all course.");
 
-        List<CourseResponseDto> courseResponseDTO = this.courseService.getAll();
+        List<CourseResponseDto> courseResponseDTO = this.courseService.getAll(courseQueryDto);
 
         return new ResponseEntity<>(courseResponseDTO, HttpStatus.OK);
     }
 
+    /**
+     * Searches courses by name.
+     * <p>
+     * This endpoint returns the courses closest to the given query, closest first. Pass the returned {@code next}
+     * cursor as {@code after} to fetch the following page; it is null on the last page.
+     *
+     * @param searchRequestDto The SearchRequestDto containing the query, the page size and the cursor to continue from.
+     * @return ResponseEntity containing a SearchResponseDto with the matching courses and the cursor of the next page,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @GetMapping(path = "/search")
+    public ResponseEntity<SearchResponseDto<CourseResponseDto>> search(@Valid SearchRequestDto searchRequestDto) {
+        log.info("Searching courses for: {}", searchRequestDto.getQuery());
+
+        SearchResponseDto<CourseResponseDto> searchResponseDto = this.courseService.search(searchRequestDto);
+
+        return new ResponseEntity<>(searchResponseDto, HttpStatus.OK);
+    }
+
     /**
      * Creates a new course.
      * <p>
@@ -102,25 +137,102 @@ public class CourseController {
         return new ResponseEntity<>(defaultResponseDTO, HttpStatus.OK);
     }
 
+    /**
+     * Deletes several courses by their IDs.
+     * <p>
+     * This endpoint deletes the listed courses together with their enrollments, in chunks that each commit on their
+     * own. IDs that do not exist are listed in the response instead of failing the request.
+     *
+     * @param bulkDeleteRequestDto The BulkDeleteRequestDto containing the IDs of the courses to be deleted.
+     * @return ResponseEntity containing a BulkDeleteResponseDto with the number of courses and enrollments removed and
+     * the IDs that were not found, along with an HTTP status code indicating the success of the operation.
+     */
+    @PostMapping(path = "/bulk-delete")
+    public ResponseEntity<BulkDeleteResponseDto> deleteAll(@Valid @RequestBody BulkDeleteRequestDto bulkDeleteRequestDto) {
+        log.info("Bulk deleting {} courses.", bulkDeleteRequestDto.getIds().size());
+
+        BulkDeleteResponseDto bulkDeleteResponseDto = this.bulkDeleteService.deleteAll(AggregateType.COURSE, bulkDeleteRequestDto.getIds());
+
+        return new ResponseEntity<>(bulkDeleteResponseDto, HttpStatus.OK);
+    }
+
     /**
      * Enrolls a student to a course by their IDs.
      * <p>
      * This endpoint enrolls a student to a course in the system based on the provided student ID and course ID.
+     * When the course is full, the student is added to its waitlist instead and enrolled automatically once a seat
+     * frees up; the response then has status 202 and carries the waitlist position.
      *
      * @param studentId The ID of the student to be enrolled.
      * @param courseId  The ID of the course to enroll the student into.
-     * @return ResponseEntity containing a DefaultResponseDTO indicating the success of the enrollment operation,
-     * along with an HTTP status code indicating the success of the operation.
+     * @return ResponseEntity containing an EnrollmentResponseDto indicating whether the student was enrolled or
+     * waitlisted, along with an HTTP status code indicating the success of the operation.
      */
     @PostMapping("/enroll")
-    public ResponseEntity<DefaultResponseDTO> enrollStudentToCourseByIds(@RequestParam Long studentId, @RequestParam Long courseId) {
+    public ResponseEntity<EnrollmentResponseDto> enrollStudentToCourseByIds(@RequestParam Long studentId, @RequestParam Long courseId) {
         log.info("Enrool Student ID: {} and Course ID: {}", studentId, courseId);
 
-        this.courseService.enrollStudentToCourse(studentId, courseId);
+        EnrollmentResponseDto enrollmentResponseDto = this.courseService.enrollStudentToCourse(studentId, courseId);
 
-        DefaultResponseDTO defaultResponseDTO = new DefaultResponseDTO(true, ResponseMessage.CREATED_SUCCESS_RESPONSE_MESSAGE);
+        HttpStatus status = enrollmentResponseDto.getStatus() == EnrollmentStatus.WAITLISTED ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return new ResponseEntity<>(enrollmentResponseDto, status);
+    }
 
-        return new ResponseEntity<>(defaultResponseDTO, HttpStatus.CREATED);
+    /**
+     * Removes a student from a course by their IDs.
+     * <p>
+     * The freed seat is given to the next student on the course's waitlist, if any.
+     *
+     * @param studentId The ID of the student to be removed.
+     * @param courseId  The ID of the course to remove the student from.
+     * @return ResponseEntity containing a DefaultResponseDTO indicating the success of the deletion operation,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @DeleteMapping("/enroll")
+    public ResponseEntity<DefaultResponseDTO> unenrollStudentFromCourseByIds(@RequestParam Long studentId, @RequestParam Long courseId) {
+        log.info("Unenroll Student ID: {} and Course ID: {}", studentId, courseId);
+
+        this.courseService.unenrollStudentFromCourse(studentId, courseId);
+
+        DefaultResponseDTO defaultResponseDTO = new DefaultResponseDTO(true, ResponseMessage.DELETED_SUCCESS_RESPONSE_MESSAGE);
+
+        return new ResponseEntity<>(defaultResponseDTO, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the waitlist position of a student.
+     *
+     * @param courseId  The ID of the course the student is waiting for.
+     * @param studentId The ID of the waiting student.
+     * @return ResponseEntity containing a WaitlistPositionDto with the student's position, 1 being next in line,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @GetMapping("/{courseId}/waitlist/{studentId}")
+    public ResponseEntity<WaitlistPositionDto> getWaitlistPosition(@PathVariable long courseId, @PathVariable long studentId) {
+        log.info("Waitlist position Course ID: {} and Student ID: {}", courseId, studentId);
+
+        WaitlistPositionDto waitlistPositionDto = this.waitlistService.getPosition(courseId, studentId);
+
+        return new ResponseEntity<>(waitlistPositionDto, HttpStatus.OK);
+    }
+
+    /**
+     * Removes a student from the waitlist of a course.
+     *
+     * @param courseId  The ID of the course the student is waiting for.
+     * @param studentId The ID of the waiting student.
+     * @return ResponseEntity containing a DefaultResponseDTO indicating the success of the deletion operation,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @DeleteMapping("/{courseId}/waitlist/{studentId}")
+    public ResponseEntity<DefaultResponseDTO> leaveWaitlist(@PathVariable long courseId, @PathVariable long studentId) {
+        log.info("Leave waitlist Course ID: {} and Student ID: {}", courseId, studentId);
+
+        this.waitlistService.leave(courseId, studentId);
+
+        DefaultResponseDTO defaultResponseDTO = new DefaultResponseDTO(true, ResponseMessage.DELETED_SUCCESS_RESPONSE_MESSAGE);
+
+        return new ResponseEntity<>(defaultResponseDTO, HttpStatus.OK);
     }
 
     /**
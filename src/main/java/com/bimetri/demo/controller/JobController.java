@@ -0,0 +1,105 @@
+package com.bimetri.demo.controller;
+
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.dto.response.JobResponseDto;
+import com.bimetri.demo.service.JobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class JobController {
+    private final JobService jobService;
+
+    /**
+     * Submits a long-running job.
+     * <p>
+     * This endpoint queues the job and returns at once with its ID; the job runs in the background on one of the
+     * instances. STUDENT_IMPORT jobs take the CSV to import as the request body, the other types take no body.
+     *
+     * @param type The type of job to run.
+     * @param body The request body, the input of job types that take one.
+     * @return ResponseEntity containing a JobResponseDto of the queued job and its location, along with an HTTP status
+     * code indicating the job was accepted.
+     */
+    @PostMapping
+    public ResponseEntity<JobResponseDto> submit(@RequestParam JobType type, InputStream body) throws IOException {
+        log.info("Submitting a {} job.", type);
+
+        JobResponseDto jobResponseDto = this.jobService.submit(type, body);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(jobResponseDto.getId()).toUri();
+
+        return ResponseEntity.accepted().location(location).body(jobResponseDto);
+    }
+
+    /**
+     * Retrieves the status and progress of a job.
+     *
+     * @param id The ID of the job.
+     * @return ResponseEntity containing a JobResponseDto with the status and progress of the job, along with an HTTP
+     * status code indicating the success of the operation.
+     */
+    @GetMapping(path = "/{id}")
+    public ResponseEntity<JobResponseDto> getJob(@PathVariable Long id) {
+        log.info("Fetching job with ID: {}", id);
+
+        JobResponseDto jobResponseDto = this.jobService.getJob(id);
+
+        return new ResponseEntity<>(jobResponseDto, HttpStatus.OK);
+    }
+
+    /**
+     * Downloads the result of a succeeded job.
+     * <p>
+     * The result file is streamed from disk, so results of any size are served without loading them into memory.
+     *
+     * @param id The ID of the job.
+     * @return ResponseEntity streaming the result file as an attachment, along with an HTTP status code indicating the
+     * success of the operation.
+     */
+    @GetMapping(path = "/{id}/result")
+    public ResponseEntity<Resource> getResult(@PathVariable Long id) {
+        log.info("Downloading the result of job with ID: {}", id);
+
+        JobResponseDto jobResponseDto = this.jobService.getJob(id);
+        Resource result = new FileSystemResource(this.jobService.getResult(id));
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("job-" + id + "." + jobResponseDto.getType().getFileExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(jobResponseDto.getType().getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(result);
+    }
+
+    /**
+     * Cancels a queued or running job.
+     *
+     * @param id The ID of the job.
+     * @return ResponseEntity containing a JobResponseDto with the status of the job, along with an HTTP status code
+     * indicating the cancellation was accepted.
+     */
+    @DeleteMapping(path = "/{id}")
+    public ResponseEntity<JobResponseDto> cancel(@PathVariable Long id) {
+        log.info("Cancelling job with ID: {}", id);
+
+        JobResponseDto jobResponseDto = this.jobService.cancel(id);
+
+        return new ResponseEntity<>(jobResponseDto, HttpStatus.ACCEPTED);
+    }
+}
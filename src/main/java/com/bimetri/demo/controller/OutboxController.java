@@ -0,0 +1,59 @@
+package com.bimetri.demo.controller;
+
+import com.bimetri.demo.dto.defaultResponse.DefaultResponseDTO;
+import com.bimetri.demo.dto.defaultResponse.ResponseMessage;
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import com.bimetri.demo.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/outbox")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxController {
+    private final OutboxService outboxService;
+
+    /**
+     * Retrieves the change events published after the given position.
+     * <p>
+     * This endpoint lets downstream systems read every course, student and enrollment change in commit order per
+     * entity, instead of polling the list endpoints. A consumer passes the position of the last event it processed to
+     * continue from there, or 0 to replay all retained events. Events appear once the relay has published them.
+     *
+     * @param afterPosition The position of the last event already processed.
+     * @param limit         The maximum number of events to return, between 1 and 1000.
+     * @return ResponseEntity containing a list of OutboxEventDto objects in position order, along with an HTTP status
+     * code indicating the success of the operation.
+     */
+    @GetMapping(path = "/events")
+    public ResponseEntity<List<OutboxEventDto>> findEvents(@RequestParam(defaultValue = "0") long afterPosition,
+                                                           @RequestParam(defaultValue = "100") int limit) {
+        log.info("Fetching outbox events after position: {}", afterPosition);
+
+        List<OutboxEventDto> outboxEventDtos = this.outboxService.findEvents(afterPosition, limit);
+
+        return new ResponseEntity<>(outboxEventDtos, HttpStatus.OK);
+    }
+
+    /**
+     * Delivers the retained events from the given event ID on to the configured sink again.
+     *
+     * @param fromId The ID of the first event to deliver again.
+     * @return ResponseEntity containing a DefaultResponseDTO with the number of events to be delivered again, along
+     * with an HTTP status code indicating the success of the operation.
+     */
+    @PostMapping(path = "/replay")
+    public ResponseEntity<DefaultResponseDTO> replay(@RequestParam long fromId) {
+        log.info("Replaying outbox events from ID: {}", fromId);
+
+        int events = this.outboxService.replay(fromId);
+
+        return new ResponseEntity<>(new DefaultResponseDTO(true, String.format(ResponseMessage.REPLAY_RESPONSE_MESSAGE, events)), HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,70 @@
+package com.bimetri.demo.controller;
+
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.EnrollmentReportDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.service.EnrollmentReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportController {
+    private final EnrollmentReportService enrollmentReportService;
+
+    /**
+     * Retrieves the enrollment summary.
+     * <p>
+     * This endpoint returns the number of students, courses and enrollments, the number of full courses, and two
+     * histograms: how many courses have each number of students, and how many students have each number of courses.
+     *
+     * @return ResponseEntity containing an EnrollmentReportDto, along with an HTTP status code indicating the success
+     * of the operation.
+     */
+    @GetMapping(path = "/enrollments")
+    public ResponseEntity<EnrollmentReportDto> getEnrollmentReport() {
+        log.info("Fetching the enrollment report.");
+
+        EnrollmentReportDto enrollmentReportDto = this.enrollmentReportService.getEnrollmentReport();
+
+        return new ResponseEntity<>(enrollmentReportDto, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the courses that have reached the maximum number of students.
+     *
+     * @return ResponseEntity containing a list of CourseResponseDto objects representing the full courses,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @GetMapping(path = "/courses-at-capacity")
+    public ResponseEntity<List<CourseResponseDto>> findCoursesAtCapacity() {
+        log.info("Fetching courses at capacity.");
+
+        List<CourseResponseDto> courseResponseDtos = this.enrollmentReportService.findCoursesAtCapacity();
+
+        return new ResponseEntity<>(courseResponseDtos, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the students enrolled in fewer than the given number of courses.
+     *
+     * @param courses The number of courses, between 1 and the maximum number of courses per student.
+     * @return ResponseEntity containing a list of StudentResponseDto objects representing the matching students,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @GetMapping(path = "/students-with-fewer-courses")
+    public ResponseEntity<List<StudentResponseDto>> findStudentsWithFewerCourses(@RequestParam int courses) {
+        log.info("Fetching students with fewer than {} courses.", courses);
+
+        List<StudentResponseDto> studentResponseDtos = this.enrollmentReportService.findStudentsWithFewerCourses(courses);
+
+        return new ResponseEntity<>(studentResponseDtos, HttpStatus.OK);
+    }
+}
@@ -2,9 +2,16 @@ package com.bimetri.demo.controller;
 
 import com.bimetri.demo.dto.defaultResponse.DefaultResponseDTO;
 import com.bimetri.demo.dto.defaultResponse.ResponseMessage;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.request.BulkDeleteRequestDto;
+import com.bimetri.demo.dto.request.SearchRequestDto;
+import com.bimetri.demo.dto.request.StudentQueryDto;
 import com.bimetri.demo.dto.request.StudentRequestDto;
+import com.bimetri.demo.dto.response.BulkDeleteResponseDto;
+import com.bimetri.demo.dto.response.SearchResponseDto;
 import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
 import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.service.BulkDeleteService;
 import com.bimetri.demo.service.StudentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,25 +30,48 @@ import java.util.List;
 @Validated
 public class StudentController {
     private final StudentService studentService;
+    private final BulkDeleteService bulkDeleteService;
 
     /**
      * Retrieves all students.
      * <p>
      * This endpoint retrieves a list of all students available in the system.
      * It returns a list of StudentResponseDto objects containing information about each student.
+     * The list can be filtered by {@code name} and {@code surname} prefix or by {@code schoolNumber}, sorted with
+     * {@code sort=surname,-id} and narrowed to the listed fields with {@code fields=id,name}.
      *
+     * @param studentQueryDto The StudentQueryDto object containing the optional filters, fields and sort order.
      * @return ResponseEntity containing a list of StudentResponseDto objects representing all students in the system,
      * along with an HTTP status code indicating the success of the operation.
      */
     @GetMapping
-    public ResponseEntity<List<StudentResponseDto>> getAll() {
+    public ResponseEntity<List<StudentResponseDto>> getAll(@Valid StudentQueryDto studentQueryDto) {
         log.info("Fetching all student.");
 
-        List<StudentResponseDto> studentResponseDTO = this.studentService.getAll();
+        List<StudentResponseDto> studentResponseDTO = this.studentService.getAll(studentQueryDto);
 
         return new ResponseEntity<>(studentResponseDTO, HttpStatus.OK);
     }
 
+    /**
+     * Searches students by name, surname or school number.
+     * <p>
+     * This endpoint returns the students closest to the given query, closest first. Pass the returned {@code next}
+     * cursor as {@code after} to fetch the following page; it is null on the last page.
+     *
+     * @param searchRequestDto The SearchRequestDto object containing the query, the page size and the cursor to continue from.
+     * @return ResponseEntity containing a SearchResponseDto with the matching students and the cursor of the next page,
+     * along with an HTTP status code indicating the success of the operation.
+     */
+    @GetMapping(path = "/search")
+    public ResponseEntity<SearchResponseDto<StudentResponseDto>> search(@Valid SearchRequestDto searchRequestDto) {
+        log.info("Searching students for: {}", searchRequestDto.getQuery());
+
+        SearchResponseDto<StudentResponseDto> searchResponseDto = this.studentService.search(searchRequestDto);
+
+        return new ResponseEntity<>(searchResponseDto, HttpStatus.OK);
+    }
+
     /**
      * Retrieves a list of all students along with their associated courses.
      * <p>
@@ -130,6 +160,25 @@ public class StudentController {
         return new ResponseEntity<>(defaultResponseDTO, HttpStatus.OK);
     }
 
+    /**
+     * Deletes several students by their IDs.
+     * <p>
+     * This endpoint deletes the listed students together with their enrollments, in chunks that each commit on their
+     * own. IDs that do not exist are listed in the response instead of failing the request.
+     *
+     * @param bulkDeleteRequestDto The BulkDeleteRequestDto containing the IDs of the students to be deleted.
+     * @return ResponseEntity containing a BulkDeleteResponseDto with the number of students and enrollments removed and
+     * the IDs that were not found, along with an HTTP status code indicating the success of the operation.
+     */
+    @PostMapping(path = "/bulk-delete")
+    public ResponseEntity<BulkDeleteResponseDto> deleteAll(@Valid @RequestBody BulkDeleteRequestDto bulkDeleteRequestDto) {
+        log.info("Bulk deleting {} students.", bulkDeleteRequestDto.getIds().size());
+
+        BulkDeleteResponseDto bulkDeleteResponseDto = this.bulkDeleteService.deleteAll(AggregateType.STUDENT, bulkDeleteRequestDto.getIds());
+
+        return new ResponseEntity<>(bulkDeleteResponseDto, HttpStatus.OK);
+    }
+
     /**
      * Retrieves a list of students without any courses.
      * <p>
@@ -0,0 +1,75 @@
+package com.bimetri.demo.controller;
+
+import com.bimetri.demo.dto.defaultResponse.DefaultResponseDTO;
+import com.bimetri.demo.dto.defaultResponse.ResponseMessage;
+import com.bimetri.demo.dto.response.TermResponseDto;
+import com.bimetri.demo.service.TermService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/terms")
+@RequiredArgsConstructor
+@Slf4j
+public class TermController {
+    private final TermService termService;
+
+    /**
+     * Retrieves all terms.
+     *
+     * @return ResponseEntity containing a list of TermResponseDto objects, open and archived, along with an HTTP
+     * status code indicating the success of the operation.
+     */
+    @GetMapping
+    public ResponseEntity<List<TermResponseDto>> getAll() {
+        log.info("Fetching all terms.");
+
+        List<TermResponseDto> termResponseDtos = this.termService.getAll();
+
+        return new ResponseEntity<>(termResponseDtos, HttpStatus.OK);
+    }
+
+    /**
+     * Opens a new term.
+     * <p>
+     * Courses can be created in the term and students enrolled into them as soon as it is open.
+     *
+     * @param term The name of the term, such as 2027-SPRING.
+     * @return ResponseEntity containing a DefaultResponseDTO indicating the success of the operation, along with an
+     * HTTP status code indicating the success of the operation.
+     */
+    @PostMapping(path = "/{term}")
+    public ResponseEntity<DefaultResponseDTO> open(@PathVariable String term) {
+        log.info("Opening term: {}", term);
+
+        this.termService.open(term);
+
+        DefaultResponseDTO defaultResponseDTO = new DefaultResponseDTO(true, ResponseMessage.CREATED_SUCCESS_RESPONSE_MESSAGE);
+
+        return new ResponseEntity<>(defaultResponseDTO, HttpStatus.CREATED);
+    }
+
+    /**
+     * Archives a term.
+     * <p>
+     * This endpoint moves the enrollments of the term out of the live enrollment table into the archive schema. The
+     * active term cannot be archived.
+     *
+     * @param term The name of the term to archive.
+     * @return ResponseEntity containing a DefaultResponseDTO with the number of enrollments archived, along with an
+     * HTTP status code indicating the success of the operation.
+     */
+    @PostMapping(path = "/{term}/archive")
+    public ResponseEntity<DefaultResponseDTO> archive(@PathVariable String term) {
+        log.info("Archiving term: {}", term);
+
+        long enrollments = this.termService.archive(term);
+
+        return new ResponseEntity<>(new DefaultResponseDTO(true, String.format(ResponseMessage.ARCHIVED_RESPONSE_MESSAGE, enrollments)), HttpStatus.OK);
+    }
+}
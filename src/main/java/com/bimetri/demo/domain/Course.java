@@ -5,7 +5,6 @@ import lombok.Data;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.List;
 
 @Data
 @Entity
@@ -14,6 +13,11 @@ public class Course implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Maximum number of students that can be enrolled in one course.
+     */
+    public static final int MAX_STUDENTS = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,7 +25,16 @@ public class Course implements Serializable {
     @Column(length = 50, nullable = false)
     private String name;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "course_student", joinColumns = @JoinColumn(name = "course_id"), inverseJoinColumns = @JoinColumn(name = "student_id"))
-    private List<Student> students;
+    /**
+     * The term the course is taught in, which is also the term of its enrollments. Fixed once the course is created.
+     */
+    @Column(length = 16, nullable = false, updatable = false)
+    private String term;
+
+    /**
+     * Incremented by every update; updates that expect an older version are rejected.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
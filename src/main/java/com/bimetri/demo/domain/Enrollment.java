@@ -0,0 +1,49 @@
+package com.bimetri.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A student's enrollment in a course. The table is partitioned by term, so queries that filter on the term only read
+ * that term's partition. Enrollments are written with native statements in CourseRepository; the entity is only
+ * queried.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "course_student")
+@IdClass(Enrollment.Key.class)
+public class Enrollment implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = 16, nullable = false, updatable = false)
+    private String term;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private Long courseId;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private Long studentId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String term;
+        private Long courseId;
+        private Long studentId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bimetri.demo.domain;
+
+import com.bimetri.demo.dto.enums.JobStatus;
+import com.bimetri.demo.dto.enums.JobType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "t_job")
+public class Job implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private long processed;
+
+    private Long total;
+
+    @Column(nullable = false)
+    private boolean cancelRequested;
+
+    private String error;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    private OffsetDateTime startedAt;
+
+    private OffsetDateTime finishedAt;
+
+    private OffsetDateTime heartbeatAt;
+
+    public Job(JobType type) {
+        this.type = type;
+        this.status = JobStatus.QUEUED;
+        this.createdAt = OffsetDateTime.now();
+    }
+}
@@ -5,15 +5,19 @@ import lombok.Data;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.List;
 
 @Data
 @Entity
-@Table(name = "t_student")
+@Table(name = "t_student", indexes = @Index(name = "ux_student_school_number", columnList = "school_number", unique = true))
 public class Student implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Maximum number of courses one student can be enrolled in.
+     */
+    public static final int MAX_COURSES = 5;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,9 +28,13 @@ public class Student implements Serializable {
     @Column(length = 50, nullable = false)
     private String surname;
 
-    @Column(length = 50, nullable = false)
-    private String schoolNumber;
+    @Column(nullable = false)
+    private Long schoolNumber;
 
-    @ManyToMany(mappedBy = "students", fetch = FetchType.LAZY)
-    private List<Course> courses;
+    /**
+     * Incremented by every update; updates that expect an older version are rejected.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,45 @@
+package com.bimetri.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+/**
+ * A semester, such as 2026-FALL. Each term has its own partition of course_student while it is open; archiving the
+ * term moves that partition to the archive schema.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "t_term")
+public class Term implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The format of term names: a year, a dash and an upper-case season.
+     */
+    public static final String PATTERN = "[0-9]{4}-[A-Z]{2,10}";
+
+    @Id
+    @Column(length = 16)
+    private String term;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime openedAt;
+
+    private OffsetDateTime archivedAt;
+
+    public Term(String term) {
+        this.term = term;
+        this.openedAt = OffsetDateTime.now();
+    }
+
+    public boolean isOpen() {
+        return this.archivedAt == null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.bimetri.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "t_waitlist")
+public class WaitlistEntry implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long courseId;
+
+    @Column(nullable = false, updatable = false)
+    private Long studentId;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    public WaitlistEntry(Long courseId, Long studentId) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.createdAt = OffsetDateTime.now();
+    }
+}
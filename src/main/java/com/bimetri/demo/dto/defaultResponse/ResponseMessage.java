@@ -4,4 +4,7 @@ public class ResponseMessage {
     public static final String CREATED_SUCCESS_RESPONSE_MESSAGE = "The save was successful.";
     public static final String UPDATED_SUCCESS_RESPONSE_MESSAGE = "The update was successful.";
     public static final String DELETED_SUCCESS_RESPONSE_MESSAGE = "The deletion was successful.";
+    public static final String WAITLISTED_RESPONSE_MESSAGE = "The course is full, the student was added to its waitlist.";
+    public static final String ARCHIVED_RESPONSE_MESSAGE = "%d enrollment(s) were archived.";
+    public static final String REPLAY_RESPONSE_MESSAGE = "%d event(s) will be delivered again.";
 }
@@ -0,0 +1,40 @@
+package com.bimetri.demo.dto.enums;
+
+import org.springframework.http.MediaType;
+
+public enum JobType {
+    /**
+     * Every enrollment as CSV, one line per course and student.
+     */
+    ROSTER_EXPORT(false, "csv", MediaType.valueOf("text/csv")),
+    /**
+     * Creates the students of an uploaded CSV of name, surname and school number, and returns one result line per row.
+     */
+    STUDENT_IMPORT(true, "csv", MediaType.valueOf("text/csv")),
+    /**
+     * The report of GET /students/student-and-courses, as a JSON file.
+     */
+    STUDENT_COURSES_REPORT(false, "json", MediaType.APPLICATION_JSON);
+
+    private final boolean inputRequired;
+    private final String fileExtension;
+    private final MediaType mediaType;
+
+    JobType(boolean inputRequired, String fileExtension, MediaType mediaType) {
+        this.inputRequired = inputRequired;
+        this.fileExtension = fileExtension;
+        this.mediaType = mediaType;
+    }
+
+    public boolean isInputRequired() {
+        return inputRequired;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
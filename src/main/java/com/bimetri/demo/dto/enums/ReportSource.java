@@ -0,0 +1,5 @@
+package com.bimetri.demo.dto.enums;
+
+public enum ReportSource {
+    LIVE, MATERIALIZED
+}
@@ -0,0 +1,19 @@
+package com.bimetri.demo.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequestDto {
+    @NotEmpty(message = "At least one ID is required.")
+    private List<@NotNull(message = "IDs cannot be null.") Long> ids;
+}
@@ -0,0 +1,16 @@
+package com.bimetri.demo.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CourseQueryDto extends ListQueryDto {
+    private String name;
+    private String term;
+
+    @Override
+    protected boolean hasFilters() {
+        return this.name != null || this.term != null;
+    }
+}
@@ -1,7 +1,10 @@
 package com.bimetri.demo.dto.request;
 
+import com.bimetri.demo.domain.Term;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,4 +20,23 @@ public class CourseRequestDto {
     @NotNull(message = "Name cannot be null.")
     @Size(min = 1, max = 50, message = "Your name must be between {min} and {max} characters.")
     private String name;
-}
\ No newline at end of file
+
+    /**
+     * Optional. The version the client last read: when given, an update only applies if the record is still at that
+     * version and fails with 409 otherwise. Updates without a version overwrite the current one, so clients written
+     * before versions were introduced keep working but can lose a concurrent edit. Ignored on create.
+     */
+    @Min(value = 0, message = "Version must not be negative.")
+    private Long version;
+
+    /**
+     * The term the course belongs to, such as 2026-FALL; the active term if not given. Ignored on update, a course
+     * stays in the term it was created in.
+     */
+    @Pattern(regexp = Term.PATTERN, message = "Term must look like 2026-FALL: a year, a dash and a season in capitals.")
+    private String term;
+
+    public CourseRequestDto(String name, Long version) {
+        this(name, version, null);
+    }
+}
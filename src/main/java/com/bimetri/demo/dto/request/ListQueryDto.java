@@ -0,0 +1,70 @@
+package com.bimetri.demo.dto.request;
+
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public abstract class ListQueryDto {
+    private List<String> fields = new ArrayList<>();
+    private List<String> sort = new ArrayList<>();
+
+    /**
+     * @return true if the request selects specific fields, sorts, or filters the list.
+     */
+    public boolean isRestricted() {
+        return !this.fields.isEmpty() || !this.sort.isEmpty() || hasFilters();
+    }
+
+    /**
+     * Resolves the requested {@code fields=} projection.
+     *
+     * @param allowedFields The fields the list can return, in response order.
+     * @return The requested fields in response order, or every allowed field if none were requested.
+     * @throws BadRequestException if a requested field is not one of the allowed fields.
+     */
+    public List<String> getSelectedFields(List<String> allowedFields) {
+        if (this.fields.isEmpty()) {
+            return allowedFields;
+        }
+
+        for (String field : this.fields) {
+            checkField(field, allowedFields);
+        }
+
+        return allowedFields.stream().filter(this.fields::contains).toList();
+    }
+
+    /**
+     * Resolves the requested {@code sort=} order, where a leading '-' sorts a field in descending order.
+     *
+     * @param allowedFields The fields the list can be sorted by.
+     * @return The requested sort, or an unsorted Sort if none was requested.
+     * @throws BadRequestException if a sort field is not one of the allowed fields.
+     */
+    public Sort getSortOrder(List<String> allowedFields) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : this.sort) {
+            boolean descending = field.startsWith("-");
+            String property = descending ? field.substring(1) : field;
+            checkField(property, allowedFields);
+            orders.add(descending ? Sort.Order.desc(property) : Sort.Order.asc(property));
+        }
+
+        return Sort.by(orders);
+    }
+
+    protected abstract boolean hasFilters();
+
+    private static void checkField(String field, List<String> allowedFields) {
+        if (!allowedFields.contains(field)) {
+            throw new BadRequestException(String.format(ErrorMessage.UNKNOWN_FIELD, field, String.join(", ", allowedFields)));
+        }
+    }
+}
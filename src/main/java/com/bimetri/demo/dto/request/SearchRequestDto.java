@@ -0,0 +1,56 @@
+package com.bimetri.demo.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchRequestDto {
+    @NotBlank(message = "Search query is required.")
+    @Size(min = 2, max = 100, message = "Your search query must be between {min} and {max} characters.")
+    private String query;
+
+    @Min(value = 1, message = "Limit must be at least {value}.")
+    @Max(value = 100, message = "Limit must be at most {value}.")
+    private int limit = 20;
+
+    @Pattern(regexp = "[0-9]{1,10}:[0-9]{1,18}", message = "Invalid search cursor.")
+    private String after;
+
+    /**
+     * Builds the continuation cursor that resumes a search after the given match.
+     * <p>
+     * Results are ordered by distance and then by ID, so the cursor holds both. The distance is kept as its raw
+     * float bits, so the next page compares against exactly the value the database returned.
+     *
+     * @param distance The distance of the last match on the page.
+     * @param id       The ID of the last match on the page.
+     * @return The cursor to pass as {@code after} for the next page.
+     */
+    public static String cursor(float distance, long id) {
+        return Float.floatToIntBits(distance) + ":" + id;
+    }
+
+    /**
+     * @return The distance of the last match already returned, or -1 for the first page.
+     */
+    public float getAfterDistance() {
+        return this.after == null ? -1f : Float.intBitsToFloat((int) Long.parseLong(this.after.substring(0, this.after.indexOf(':'))));
+    }
+
+    /**
+     * @return The ID of the last match already returned, or 0 for the first page.
+     */
+    public long getAfterId() {
+        return this.after == null ? 0L : Long.parseLong(this.after.substring(this.after.indexOf(':') + 1));
+    }
+}
@@ -0,0 +1,17 @@
+package com.bimetri.demo.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StudentQueryDto extends ListQueryDto {
+    private String name;
+    private String surname;
+    private Long schoolNumber;
+
+    @Override
+    protected boolean hasFilters() {
+        return this.name != null || this.surname != null || this.schoolNumber != null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.bimetri.demo.dto.request;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -23,8 +24,15 @@ public class StudentRequestDto {
     @Size(min = 1, max = 50, message = "Your surname must be between {min} and {max} characters.")
     private String surname;
 
-    @NotBlank(message = "School Number is required.")
     @NotNull(message = "School Number cannot be null.")
-    @Size(min = 3, max = 50, message = "Your school number must be between {min} and {max} characters.")
-    private String schoolNumber;
+    @Min(value = 100, message = "Your school number must have at least 3 digits.")
+    private Long schoolNumber;
+
+    /**
+     * Optional. The version the client last read: when given, an update only applies if the record is still at that
+     * version and fails with 409 otherwise. Updates without a version overwrite the current one, so clients written
+     * before versions were introduced keep working but can lose a concurrent edit. Ignored on create.
+     */
+    @Min(value = 0, message = "Version must not be negative.")
+    private Long version;
 }
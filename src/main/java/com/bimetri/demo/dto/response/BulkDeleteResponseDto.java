@@ -0,0 +1,19 @@
+package com.bimetri.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResponseDto {
+    private long requested;
+    private long deleted;
+    private long enrollmentsRemoved;
+    private List<Long> notFound;
+}
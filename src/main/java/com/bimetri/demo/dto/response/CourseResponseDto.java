@@ -1,5 +1,6 @@
 package com.bimetri.demo.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,18 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CourseResponseDto {
     private Long id;
     private String name;
+    private Long version;
+    private String term;
+
+    public CourseResponseDto(Long id, String name) {
+        this(id, name, null, null);
+    }
+
+    public CourseResponseDto(Long id, String name, Long version) {
+        this(id, name, version, null);
+    }
 }
@@ -0,0 +1,15 @@
+package com.bimetri.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentChangeDto {
+    private Long courseId;
+    private Long studentId;
+}
@@ -0,0 +1,26 @@
+package com.bimetri.demo.dto.response;
+
+import com.bimetri.demo.dto.enums.ReportSource;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentReportDto {
+    private ReportSource source;
+    private OffsetDateTime asOf;
+    private long students;
+    private long courses;
+    private long enrollments;
+    private int courseCapacity;
+    private long coursesAtCapacity;
+    private List<HistogramBucketDto> courseSizes;
+    private List<HistogramBucketDto> studentLoads;
+}
@@ -0,0 +1,23 @@
+package com.bimetri.demo.dto.response;
+
+import com.bimetri.demo.dto.defaultResponse.DefaultResponseDTO;
+import com.bimetri.demo.dto.enums.EnrollmentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EnrollmentResponseDto extends DefaultResponseDTO {
+    private EnrollmentStatus status;
+    private Long waitlistPosition;
+
+    public EnrollmentResponseDto(String message, EnrollmentStatus status, Long waitlistPosition) {
+        super(true, message);
+        this.status = status;
+        this.waitlistPosition = waitlistPosition;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bimetri.demo.dto.response;
+
+import com.bimetri.demo.dto.enums.JobStatus;
+import com.bimetri.demo.dto.enums.JobType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobResponseDto {
+    private Long id;
+    private JobType type;
+    private JobStatus status;
+    /**
+     * The number of items processed so far: enrollments, students or CSV rows depending on the type.
+     */
+    private long processed;
+    /**
+     * The number of items to process, once known.
+     */
+    private Long total;
+    private String error;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+}
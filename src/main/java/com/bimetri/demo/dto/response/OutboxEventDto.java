@@ -0,0 +1,44 @@
+package com.bimetri.demo.dto.response;
+
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventDto {
+    private Long id;
+    private AggregateType aggregateType;
+    private Long aggregateId;
+    private ChangeType type;
+    /**
+     * The changed entity as JSON: a course, a student, or the course and student IDs for enrollments. Deletions only
+     * carry the ID.
+     */
+    private JsonNode payload;
+    private OffsetDateTime createdAt;
+    /**
+     * The place of the event in the order of publication, which consumers of /outbox/events page on. Assigned when the
+     * relay marks the event published, so absent from the events delivered to the sink.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long position;
+    /**
+     * The tenant whose data changed, set on the events delivered to the sink; absent for the default tenant.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String tenant;
+
+    public OutboxEventDto(Long id, AggregateType aggregateType, Long aggregateId, ChangeType type, JsonNode payload, OffsetDateTime createdAt) {
+        this(id, aggregateType, aggregateId, type, payload, createdAt, null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.bimetri.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordingResponseDto {
+    private long id;
+    /**
+     * NEW, DELAYED, RUNNING, STOPPED or CLOSED, see jdk.jfr.RecordingState.
+     */
+    private String state;
+    private String settings;
+    private Duration duration;
+    private Instant startedAt;
+    /**
+     * The number of bytes recorded so far.
+     */
+    private long size;
+}
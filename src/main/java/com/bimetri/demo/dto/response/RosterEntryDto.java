@@ -0,0 +1,19 @@
+package com.bimetri.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntryDto {
+    private Long courseId;
+    private String courseName;
+    private Long studentId;
+    private String name;
+    private String surname;
+    private Long schoolNumber;
+}
@@ -0,0 +1,17 @@
+package com.bimetri.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponseDto<T> {
+    private List<T> results;
+    private String next;
+}
@@ -1,5 +1,6 @@
 package com.bimetri.demo.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,9 +10,15 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class StudentResponseDto {
     private Long id;
     private String name;
     private String surname;
     private Long schoolNumber;
+    private Long version;
+
+    public StudentResponseDto(Long id, String name, String surname, Long schoolNumber) {
+        this(id, name, surname, schoolNumber, null);
+    }
 }
@@ -0,0 +1,24 @@
+package com.bimetri.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TermResponseDto {
+    private String term;
+    /**
+     * Whether this is the term new courses and the enrollment listings default to.
+     */
+    private boolean active;
+    private OffsetDateTime openedAt;
+    private OffsetDateTime archivedAt;
+}
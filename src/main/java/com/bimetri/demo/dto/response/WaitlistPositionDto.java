@@ -0,0 +1,19 @@
+package com.bimetri.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionDto {
+    private Long courseId;
+    private Long studentId;
+    private long position;
+    private OffsetDateTime joinedAt;
+}
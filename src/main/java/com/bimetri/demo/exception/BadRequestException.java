@@ -1,12 +1,19 @@
 package com.bimetri.demo.exception;
 
+import org.springframework.http.HttpStatus;
+
 import java.io.Serial;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends BusinessException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public BadRequestException(String message) {
         super(message);
     }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
 }
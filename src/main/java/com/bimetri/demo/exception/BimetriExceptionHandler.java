@@ -27,56 +27,20 @@ public class BimetriExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
     /**
-     * Handles ResourceNotFoundException and generates a custom ResponseEntity for the response.
+     * Handles BusinessException and generates a custom ResponseEntity for the response.
      * <p>
-     * This method is designed to handle exceptions of type ResourceNotFoundException.
-     * It creates a custom error response in the form of an ApiResponseError containing
-     * information about the not found resource and returns a ResponseEntity with the appropriate HTTP status.
-     *
-     * @param ex      The ResourceNotFoundException instance that triggered the exception.
-     * @param request The WebRequest associated with the request that resulted in the exception.
-     * @return ResponseEntity<Object> A ResponseEntity containing an ApiResponseError indicating
-     * that the requested resource was not found. HttpStatus.NOT_FOUND is returned.
-     */
-    @ExceptionHandler(ResourceNotFoundException.class)
-    protected ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        ApiResponseError error = new ApiResponseError(HttpStatus.NOT_FOUND, ex.getMessage(), request.getDescription(false));
-        return buildResponseEntity(error);
-    }
-
-    /**
-     * Handles ConflictException and generates a custom ResponseEntity for the response.
-     * <p>
-     * This method is designed to handle exceptions of type ConflictException.
-     * It creates a custom error response in the form of an ApiResponseError containing
-     * information about the conflict and returns a ResponseEntity with the appropriate HTTP status.
+     * This method handles the expected business outcomes: ResourceNotFoundException, ConflictException and
+     * BadRequestException. It creates a custom error response in the form of an ApiResponseError containing the
+     * exception message and returns a ResponseEntity with the status of the exception.
      *
-     * @param ex      The ConflictException instance that triggered the exception.
+     * @param ex      The BusinessException instance that triggered the exception.
      * @param request The WebRequest associated with the request that resulted in the exception.
-     * @return ResponseEntity<Object> A ResponseEntity containing an ApiResponseError indicating
-     * that a conflict occurred. HttpStatus.CONFLICT is returned.
+     * @return ResponseEntity<Object> A ResponseEntity containing an ApiResponseError describing the outcome.
+     * HttpStatus.NOT_FOUND, HttpStatus.CONFLICT or HttpStatus.BAD_REQUEST is returned.
      */
-    @ExceptionHandler(ConflictException.class)
-    protected ResponseEntity<Object> handleConflictException(ConflictException ex, WebRequest request) {
-        ApiResponseError error = new ApiResponseError(HttpStatus.CONFLICT, ex.getMessage(), request.getDescription(false));
-        return buildResponseEntity(error);
-    }
-
-    /**
-     * Handles BadRequestException and generates a custom ResponseEntity for the response.
-     * <p>
-     * This method is designed to handle exceptions of type BadRequestException.
-     * It creates a custom error response in the form of an ApiResponseError containing
-     * information about the bad request and returns a ResponseEntity with the appropriate HTTP status.
-     *
-     * @param ex      The BadRequestException instance that triggered the exception.
-     * @param request The WebRequest associated with the request that resulted in the exception.
-     * @return ResponseEntity<Object> A ResponseEntity containing an ApiResponseError indicating
-     * that a bad request occurred. HttpStatus.BAD_REQUEST is returned.
-     */
-    @ExceptionHandler(BadRequestException.class)
-    protected ResponseEntity<Object> handleBadRequestException(BadRequestException ex, WebRequest request) {
-        ApiResponseError error = new ApiResponseError(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getDescription(false));
+    @ExceptionHandler(BusinessException.class)
+    protected ResponseEntity<Object> handleBusinessException(BusinessException ex, WebRequest request) {
+        ApiResponseError error = new ApiResponseError(ex.getStatus(), ex.getMessage(), request.getDescription(false));
         return buildResponseEntity(error);
     }
 
@@ -0,0 +1,32 @@
+package com.bimetri.demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * An expected business outcome reported to the client, such as a missing resource or a duplicate enrollment.
+ * <p>
+ * These are thrown on hot paths and always handled by {@link BimetriExceptionHandler}, so by default they skip
+ * capturing a stack trace, which is the bulk of the cost of throwing. Set {@code bimetri.exceptions.stack-traces} to
+ * capture them again while debugging.
+ */
+public abstract class BusinessException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static volatile boolean stackTraceEnabled;
+
+    protected BusinessException(String message) {
+        super(message, null, false, stackTraceEnabled);
+    }
+
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    /**
+     * @return The HTTP status the exception is reported with.
+     */
+    public abstract HttpStatus getStatus();
+}
@@ -1,12 +1,19 @@
 package com.bimetri.demo.exception;
 
+import org.springframework.http.HttpStatus;
+
 import java.io.Serial;
 
-public class ConflictException extends RuntimeException {
+public class ConflictException extends BusinessException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public ConflictException(String message) {
         super(message);
     }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
 }
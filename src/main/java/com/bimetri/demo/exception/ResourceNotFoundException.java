@@ -1,12 +1,19 @@
 package com.bimetri.demo.exception;
 
+import org.springframework.http.HttpStatus;
+
 import java.io.Serial;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
 }
@@ -0,0 +1,19 @@
+package com.bimetri.demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+public class TooManyRequestsException extends BusinessException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
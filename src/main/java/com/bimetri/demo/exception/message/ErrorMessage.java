@@ -1,11 +1,36 @@
 package com.bimetri.demo.exception.message;
 
+import com.bimetri.demo.dto.enums.ResponseEnum;
+
 public class ErrorMessage {
     public static final String RESOURCE_NOT_FOUND_MESSAGE = "Resource with id: %s not found!";
     public static final String NOT_FOUND_MESSAGE = "Resource with %s not found!";
     public static final String RESOURCE_MAX_COUNT = "You have reached the maximum number of %s registrations!";
+    public static final String COURSE_LIMIT_REACHED = String.format(RESOURCE_MAX_COUNT, ResponseEnum.COURSE);
+    public static final String COURSES_NOT_FOUND = String.format(NOT_FOUND_MESSAGE, ResponseEnum.COURSE);
+    public static final String STUDENTS_NOT_FOUND = String.format(NOT_FOUND_MESSAGE, ResponseEnum.STUDENT);
     public static final String DUPLICATE_NAME = "There is already a record with the name %s.";
     public static final String DUPLICATE_SCHOOL_NUMBER = "There is already a record with the school number %s.";
     public static final String DUPLICATE_COURSE = "Student is already enrolled in this course.";
+    public static final String NOT_ENROLLED = "Student is not enrolled in this course.";
+    public static final String NOT_WAITLISTED = "Student is not on the waitlist of this course.";
+    public static final String OUT_OF_RANGE = "%s must be between %d and %d.";
+    public static final String UNKNOWN_FIELD = "Unknown field %s, expected one of: %s.";
+    public static final String TOO_MANY_REQUESTS = "Too many requests, retry after %d second(s).";
+    public static final String SERVER_BUSY = "The server is busy, retry after %d second(s).";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with this Idempotency-Key is still being processed.";
+    public static final String IDEMPOTENCY_KEY_REUSED = "This Idempotency-Key was already used for a different request.";
+    public static final String JOB_QUEUE_FULL = "Too many jobs are queued, retry later.";
+    public static final String JOB_INPUT_REQUIRED = "A %s job requires a request body.";
+    public static final String JOB_INPUT_TOO_LARGE = "The request body must not exceed %s.";
+    public static final String JOB_FINISHED = "Job %s has already finished.";
+    public static final String JOB_NOT_SUCCEEDED = "Job %s has no result, its status is %s.";
+    public static final String JOB_RESULT_NOT_FOUND = "The result of job %s is not available.";
+    public static final String VERSION_CONFLICT = "Resource with id: %s was changed by another request and is now at version %s. Fetch it again, reapply your changes and retry with that version.";
+    public static final String TENANT_NOT_FOUND = "Tenant %s not found!";
+    public static final String TERM_FORMAT = "Term %s must look like 2026-FALL: a year, a dash and a season in capitals.";
+    public static final String TERM_NOT_OPEN = "Term %s is not open.";
+    public static final String TERM_EXISTS = "Term %s already exists.";
+    public static final String TERM_ACTIVE = "Term %s is the active term and cannot be archived.";
     public static final String ILLEGAL_EXCEPTION = "The record could not be deleted because it is enrolled in one or more courses.";
 }
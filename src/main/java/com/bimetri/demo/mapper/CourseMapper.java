@@ -13,14 +13,17 @@ public class CourseMapper {
 
         responseDTO.setId(contactMessage.getId());
         responseDTO.setName(contactMessage.getName());
+        responseDTO.setVersion(contactMessage.getVersion());
+        responseDTO.setTerm(contactMessage.getTerm());
 
         return responseDTO;
     }
 
-    public static Course toEntity(CourseRequestDto requestDTO) {
+    public static Course toEntity(CourseRequestDto requestDTO, String term) {
         Course course = new Course();
 
         course.setName(requestDTO.getName());
+        course.setTerm(term);
 
         return course;
     }
@@ -0,0 +1,11 @@
+package com.bimetri.demo.mapper;
+
+import com.bimetri.demo.domain.Job;
+import com.bimetri.demo.dto.response.JobResponseDto;
+
+public class JobMapper {
+    public static JobResponseDto toDTO(Job job) {
+        return new JobResponseDto(job.getId(), job.getType(), job.getStatus(), job.getProcessed(), job.getTotal(), job.getError(),
+                job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+}
@@ -14,7 +14,8 @@ public class StudentMapper {
         responseDTO.setId(student.getId());
         responseDTO.setName(student.getName());
         responseDTO.setSurname(student.getSurname());
-        responseDTO.setSchoolNumber(Long.valueOf(student.getSchoolNumber()));
+        responseDTO.setSchoolNumber(student.getSchoolNumber());
+        responseDTO.setVersion(student.getVersion());
 
         return responseDTO;
     }
@@ -0,0 +1,72 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.dto.enums.AggregateType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BulkDeleteRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the existing rows among the given IDs until the end of the transaction, in ID order so that concurrent
+     * bulk deletes cannot deadlock. Enrollments of the locked rows cannot be added until then.
+     *
+     * @param type The table to lock rows of.
+     * @param ids  The IDs to lock.
+     * @return The IDs that exist, in ascending order.
+     */
+    public List<Long> lock(AggregateType type, List<Long> ids) {
+        return this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + table(type) + " WHERE id = ANY(?) ORDER BY id FOR UPDATE");
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+    }
+
+    /**
+     * Deletes the given rows and their enrollments in one statement, and records a DELETED outbox event with the same
+     * payload as the single deletes for each of them.
+     * <p>
+     * The rows must have been locked with {@link #lock(AggregateType, List)} in a previous statement of the current
+     * transaction, so the statement sees every enrollment committed before the lock was taken.
+     *
+     * @param type The table to delete rows from.
+     * @param ids  The IDs of the locked rows.
+     * @return The number of enrollments removed.
+     */
+    public long deleteWithEnrollments(AggregateType type, List<Long> ids) {
+        String sql = "WITH enrollments AS (DELETE FROM course_student WHERE " + enrollmentColumn(type) + " = ANY(?) RETURNING 1), " +
+                "deleted AS (DELETE FROM " + table(type) + " WHERE id = ANY(?) RETURNING id), " +
+                "events AS (INSERT INTO t_outbox (aggregate_type, aggregate_id, event_type, payload) " +
+                "SELECT '" + type.name() + "', id, 'DELETED', jsonb_build_object('id', id) FROM deleted ORDER BY id) " +
+                "SELECT COUNT(*) FROM enrollments";
+
+        Long removed = this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, resultSet -> resultSet.next() ? resultSet.getLong(1) : 0L);
+        return removed == null ? 0 : removed;
+    }
+
+    private static String table(AggregateType type) {
+        return switch (type) {
+            case COURSE -> "t_course";
+            case STUDENT -> "t_student";
+        };
+    }
+
+    private static String enrollmentColumn(AggregateType type) {
+        return switch (type) {
+            case COURSE -> "course_id";
+            case STUDENT -> "student_id";
+        };
+    }
+}
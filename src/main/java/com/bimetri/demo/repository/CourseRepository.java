@@ -1,14 +1,120 @@
 package com.bimetri.demo.repository;
 
 import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.RosterEntryDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
-    List<Course> findByStudentsIsNull();
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
+    /**
+     * The term of the course given as :courseId. Enrollment queries compare the term with it, so Postgres only scans
+     * that term's partition of course_student.
+     */
+    String COURSE_TERM = "(SELECT term FROM t_course WHERE id = :courseId)";
 
-    boolean existsByName(String name);
+    @Query("SELECT new com.bimetri.demo.dto.response.CourseResponseDto(c.id, c.name, c.version, c.term) FROM Course c WHERE c.term = :term")
+    List<CourseResponseDto> findAllAsResponse(@Param("term") String term);
+
+    @Query("SELECT new com.bimetri.demo.dto.response.CourseResponseDto(c.id, c.name) FROM Course c WHERE c.term = :term " +
+            "AND NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.term = :term AND e.courseId = c.id)")
+    List<CourseResponseDto> findByStudentsIsNullAsResponse(@Param("term") String term);
+
+    @Query("SELECT new com.bimetri.demo.dto.response.CourseResponseDto(c.id, c.name) FROM Enrollment e JOIN Course c ON c.id = e.courseId " +
+            "WHERE e.studentId = :studentId AND e.term = :term")
+    List<CourseResponseDto> findByStudentIdAsResponse(@Param("studentId") Long studentId, @Param("term") String term);
+
+    @Query(value = "SELECT id, name, distance FROM (SELECT c.id, c.name, c.name <->> :query AS distance FROM t_course c WHERE c.name %> :query) matches " +
+            "WHERE (distance, id) > (:afterDistance, :afterId) ORDER BY distance, id LIMIT :limit", nativeQuery = true)
+    List<SearchMatch> search(@Param("query") String query, @Param("afterDistance") float afterDistance, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    boolean existsByNameAndTerm(String name, String term);
+
+    /**
+     * Renames the course in one statement if its version is the expected one, or whatever it is when no version is
+     * expected, and increments the version.
+     *
+     * @return The new version, or empty if the course does not exist or has another version.
+     */
+    @Query(value = "UPDATE t_course SET name = :name, version = version + 1 WHERE id = :id AND version = COALESCE(CAST(:version AS BIGINT), version) RETURNING version",
+            nativeQuery = true)
+    Optional<Long> updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name);
+
+    /**
+     * Deletes the course and its enrollments in one statement.
+     *
+     * @return The number of courses deleted, 0 if the course does not exist.
+     */
+    @Modifying
+    @Query(value = "WITH enrollments AS (DELETE FROM course_student WHERE course_id = :id) DELETE FROM t_course WHERE id = :id", nativeQuery = true)
+    int deleteWithEnrollmentsById(@Param("id") Long id);
+
+    @Query("SELECT c.version FROM Course c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT c.term FROM Course c WHERE c.id = :id")
+    String findTermById(@Param("id") Long id);
+
+    /**
+     * Locks the course row until the end of the transaction, serializing the enrollments of the course.
+     *
+     * @return The term of the course, or empty if the course does not exist.
+     */
+    @Query(value = "SELECT term FROM t_course WHERE id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<String> lockTermById(@Param("id") Long id);
+
+    /**
+     * Locks the first course after the given ID that has free seats and students on its waitlist, skipping courses
+     * locked by enrollments or by another promoter.
+     */
+    @Query(value = "SELECT c.id FROM t_course c WHERE c.id IN (SELECT w.course_id FROM t_waitlist w WHERE w.course_id > :afterId) " +
+            "AND (SELECT COUNT(*) FROM course_student cs WHERE cs.term = c.term AND cs.course_id = c.id) < :capacity " +
+            "ORDER BY c.id LIMIT 1 FOR NO KEY UPDATE OF c SKIP LOCKED", nativeQuery = true)
+    Optional<Long> lockNextWithWaitlistAndFreeSeats(@Param("afterId") long afterId, @Param("capacity") int capacity);
+
+    @Query(value = "SELECT COUNT(*) FROM course_student WHERE term = " + COURSE_TERM + " AND course_id = :courseId", nativeQuery = true)
+    long countStudents(@Param("courseId") Long courseId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM course_student WHERE term = " + COURSE_TERM + " AND course_id = :courseId AND student_id = :studentId)",
+            nativeQuery = true)
+    boolean isEnrolled(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query(value = "INSERT INTO course_student (course_id, student_id, term) SELECT id, :studentId, term FROM t_course WHERE id = :courseId", nativeQuery = true)
+    void enroll(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM course_student WHERE term = " + COURSE_TERM + " AND course_id = :courseId AND student_id = :studentId", nativeQuery = true)
+    int unenroll(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Query(value = "SELECT COUNT(*) FROM course_student", nativeQuery = true)
+    long countEnrollments();
+
+    /**
+     * Streams the enrollments of every open term, ordered by course and student, fetching the rows in batches. Must
+     * be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.bimetri.demo.dto.response.RosterEntryDto(c.id, c.name, s.id, s.name, s.surname, s.schoolNumber) " +
+            "FROM Enrollment e JOIN Course c ON c.id = e.courseId JOIN Student s ON s.id = e.studentId ORDER BY c.id, s.id")
+    Stream<RosterEntryDto> streamRoster();
+
+    interface SearchMatch {
+        Long getId();
+
+        String getName();
+
+        Float getDistance();
+    }
 }
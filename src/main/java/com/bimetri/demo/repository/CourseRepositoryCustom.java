@@ -0,0 +1,12 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.dto.request.CourseQueryDto;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+
+import java.util.List;
+
+public interface CourseRepositoryCustom {
+    List<String> RESPONSE_FIELDS = List.of("id", "name", "version", "term");
+
+    List<CourseResponseDto> findAllAsResponse(CourseQueryDto courseQueryDto);
+}
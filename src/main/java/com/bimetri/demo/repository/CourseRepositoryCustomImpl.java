@@ -0,0 +1,40 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.dto.request.CourseQueryDto;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+    private static final Map<String, BiConsumer<CourseResponseDto, Object>> SETTERS = Map.of(
+            "id", (dto, value) -> dto.setId((Long) value),
+            "name", (dto, value) -> dto.setName((String) value),
+            "version", (dto, value) -> dto.setVersion((Long) value),
+            "term", (dto, value) -> dto.setTerm((String) value));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects the requested fields of the courses matching the query, in the requested order.
+     * <p>
+     * The name filters by case-insensitive prefix, the term by equality.
+     *
+     * @param courseQueryDto The CourseQueryDto object containing the filters, fields and sort order.
+     * @return A list of CourseResponseDto objects with only the requested fields set.
+     */
+    @Override
+    public List<CourseResponseDto> findAllAsResponse(CourseQueryDto courseQueryDto) {
+        Specification<Course> specification = Specification.where(ResponseProjections.<Course>startsWith("name", courseQueryDto.getName()))
+                .and(ResponseProjections.equalTo("term", courseQueryDto.getTerm()));
+
+        return ResponseProjections.findAll(this.entityManager, Course.class, specification, courseQueryDto.getSelectedFields(RESPONSE_FIELDS),
+                courseQueryDto.getSortOrder(RESPONSE_FIELDS), CourseResponseDto::new, SETTERS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.config.tenancy.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentPartitionRepository {
+    private static final String ARCHIVE_SCHEMA = "archive";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the course_student partition holding the enrollments of the term.
+     *
+     * @param term The term, already validated against Term.PATTERN since it is part of the DDL.
+     */
+    public void createPartition(String term) {
+        this.jdbcTemplate.execute("CREATE TABLE " + partition(term) + " PARTITION OF course_student FOR VALUES IN ('" + term + "')");
+    }
+
+    /**
+     * Detaches the partition of the term from course_student and moves it to the archive schema, keeping its rows
+     * for reporting. Other tenants than the default one archive into their own schema_archive schema, so their
+     * partitions of the same term do not collide. The foreign keys of the archived table are dropped, so archived
+     * enrollments do not prevent deleting their courses and students later.
+     * <p>
+     * Detaching takes an ACCESS EXCLUSIVE lock on course_student until the end of the transaction, so the
+     * transaction must do nothing slow afterwards.
+     *
+     * @param term The term, already validated against Term.PATTERN since it is part of the DDL.
+     * @return The number of enrollments archived.
+     */
+    public long archivePartition(String term) {
+        String partition = partition(term);
+        String archiveSchema = archiveSchema();
+        Long enrollments = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+
+        this.jdbcTemplate.execute("ALTER TABLE course_student DETACH PARTITION " + partition);
+        this.jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        this.jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+        List<String> foreignKeys = this.jdbcTemplate.queryForList("SELECT conname FROM pg_constraint WHERE contype = 'f' AND conrelid = ?::regclass",
+                String.class, archiveSchema + "." + partition);
+        for (String foreignKey : foreignKeys) {
+            this.jdbcTemplate.execute("ALTER TABLE " + archiveSchema + "." + partition + " DROP CONSTRAINT " + foreignKey);
+        }
+
+        return enrollments == null ? 0 : enrollments;
+    }
+
+    private static String archiveSchema() {
+        return TenantContext.isDefault() ? ARCHIVE_SCHEMA : TenantContext.getSchema() + "_" + ARCHIVE_SCHEMA;
+    }
+
+    private static String partition(String term) {
+        return "course_student_" + term.toLowerCase().replace('-', '_');
+    }
+}
@@ -0,0 +1,135 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.dto.enums.ReportSource;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.HistogramBucketDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentReportRepository {
+    private static final String LIVE_COURSE_COUNTS = "(SELECT c.id AS course_id, COUNT(cs.student_id) AS enrolled " +
+            "FROM t_course c LEFT JOIN course_student cs ON cs.course_id = c.id GROUP BY c.id)";
+    private static final String LIVE_STUDENT_COUNTS = "(SELECT s.id AS student_id, COUNT(cs.course_id) AS enrolled " +
+            "FROM t_student s LEFT JOIN course_student cs ON cs.student_id = s.id GROUP BY s.id)";
+    private static final String REFRESH_NAME = "enrollment";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Counts the courses by the number of students enrolled in them.
+     *
+     * @param source Whether to group the live tables or read the materialized view.
+     * @return One bucket per distinct enrollment count, ordered by enrollment count.
+     */
+    public List<HistogramBucketDto> findCourseSizeHistogram(ReportSource source) {
+        return findHistogram("course", LIVE_COURSE_COUNTS, source);
+    }
+
+    /**
+     * Counts the students by the number of courses they are enrolled in.
+     *
+     * @param source Whether to group the live tables or read the materialized view.
+     * @return One bucket per distinct enrollment count, ordered by enrollment count.
+     */
+    public List<HistogramBucketDto> findStudentLoadHistogram(ReportSource source) {
+        return findHistogram("student", LIVE_STUDENT_COUNTS, source);
+    }
+
+    /**
+     * Finds the courses with at least the given number of enrolled students.
+     *
+     * @param students The minimum number of enrolled students.
+     * @param source   Whether to group the live tables or read the materialized view.
+     * @return The matching courses, ordered by ID.
+     */
+    public List<CourseResponseDto> findCoursesWithAtLeast(int students, ReportSource source) {
+        return this.jdbcTemplate.query("SELECT c.id, c.name FROM " + courseCounts(source) + " counts JOIN t_course c ON c.id = counts.course_id " +
+                        "WHERE counts.enrolled >= ? ORDER BY c.id",
+                (resultSet, rowNum) -> new CourseResponseDto(resultSet.getLong(1), resultSet.getString(2)), students);
+    }
+
+    /**
+     * Finds the students enrolled in fewer than the given number of courses.
+     *
+     * @param courses The number of courses the students have fewer of.
+     * @param source  Whether to group the live tables or read the materialized view.
+     * @return The matching students, ordered by ID.
+     */
+    public List<StudentResponseDto> findStudentsWithFewerThan(int courses, ReportSource source) {
+        return this.jdbcTemplate.query("SELECT s.id, s.name, s.surname, s.school_number FROM " + studentCounts(source) + " counts " +
+                        "JOIN t_student s ON s.id = counts.student_id WHERE counts.enrolled < ? ORDER BY s.id",
+                (resultSet, rowNum) -> new StudentResponseDto(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getLong(4)), courses);
+    }
+
+    /**
+     * Returns when the materialized views were last refreshed, if that is within the given age.
+     * <p>
+     * The age is compared with the database clock, which also stamps the refreshes.
+     *
+     * @param maxAge The maximum age of the materialized data.
+     * @return The time of the last refresh, or empty if the materialized data is older than maxAge.
+     */
+    public Optional<OffsetDateTime> findRefreshedWithin(Duration maxAge) {
+        return this.jdbcTemplate.queryForList("SELECT refreshed_at FROM t_report_refresh WHERE name = ? AND refreshed_at > now() - make_interval(secs => ?)",
+                OffsetDateTime.class, REFRESH_NAME, seconds(maxAge)).stream().findFirst();
+    }
+
+    /**
+     * Refreshes the materialized views unless another instance is refreshing them or did so within the given age.
+     * <p>
+     * Must run inside a transaction: the advisory lock and the refresh timestamp are released and published when it
+     * commits. The views are refreshed concurrently, so reports keep reading the previous data meanwhile.
+     *
+     * @param minAge The age the last refresh must have reached before refreshing again.
+     * @return true if the views were refreshed.
+     */
+    public boolean refreshIfOlderThan(Duration minAge) {
+        if (!Boolean.TRUE.equals(this.jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class,
+                TenantContext.qualify("t_report_refresh")))) {
+            return false;
+        }
+
+        int due = this.jdbcTemplate.update("UPDATE t_report_refresh SET refreshed_at = now() WHERE name = ? AND refreshed_at <= now() - make_interval(secs => ?)",
+                REFRESH_NAME, seconds(minAge));
+        if (due == 0) {
+            return false;
+        }
+
+        this.jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY mv_course_enrollment");
+        this.jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY mv_student_enrollment");
+        this.jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY mv_enrollment_histogram");
+        return true;
+    }
+
+    private List<HistogramBucketDto> findHistogram(String kind, String liveCounts, ReportSource source) {
+        RowMapper<HistogramBucketDto> rowMapper = (resultSet, rowNum) -> new HistogramBucketDto(resultSet.getLong(1), resultSet.getLong(2));
+        if (source == ReportSource.MATERIALIZED) {
+            return this.jdbcTemplate.query("SELECT enrollments, count FROM mv_enrollment_histogram WHERE kind = ? ORDER BY enrollments", rowMapper, kind);
+        }
+
+        return this.jdbcTemplate.query("SELECT enrolled, COUNT(*) FROM " + liveCounts + " counts GROUP BY enrolled ORDER BY enrolled", rowMapper);
+    }
+
+    private static String courseCounts(ReportSource source) {
+        return source == ReportSource.MATERIALIZED ? "mv_course_enrollment" : LIVE_COURSE_COUNTS;
+    }
+
+    private static String studentCounts(ReportSource source) {
+        return source == ReportSource.MATERIALIZED ? "mv_student_enrollment" : LIVE_STUDENT_COUNTS;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.domain.Job;
+import com.bimetri.demo.dto.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+    long countByStatus(JobStatus status);
+
+    /**
+     * Locks the oldest queued job of the given type, skipping jobs being claimed by another instance.
+     */
+    @Query(value = "SELECT id FROM t_job WHERE status = 'QUEUED' AND type = :type ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> lockNextQueued(@Param("type") String type);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.processed = :processed, j.total = :total, j.heartbeatAt = :now WHERE j.id = :id AND j.status = :running")
+    int updateProgress(@Param("id") Long id, @Param("processed") long processed, @Param("total") Long total, @Param("now") OffsetDateTime now,
+                       @Param("running") JobStatus running);
+
+    @Query("SELECT j.id FROM Job j WHERE j.id IN :ids AND j.cancelRequested = true")
+    List<Long> findCancelRequested(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cancels a job if it is still queued. The condition is checked against the committed row, so a job claimed
+     * meanwhile is left running.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = :cancelled, j.finishedAt = :now WHERE j.id = :id AND j.status = :queued")
+    int cancelQueued(@Param("id") Long id, @Param("now") OffsetDateTime now, @Param("cancelled") JobStatus cancelled, @Param("queued") JobStatus queued);
+
+    /**
+     * Asks a running job to stop at its next progress report. Does nothing if the job is no longer running.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.cancelRequested = true WHERE j.id = :id AND j.status = :running")
+    int requestCancel(@Param("id") Long id, @Param("running") JobStatus running);
+
+    /**
+     * Ends a running job. Does nothing if the job is no longer running, because it was queued again meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.processed = :processed, j.error = :error, j.finishedAt = :now WHERE j.id = :id AND j.status = :running")
+    int finish(@Param("id") Long id, @Param("status") JobStatus status, @Param("processed") long processed, @Param("error") String error,
+               @Param("now") OffsetDateTime now, @Param("running") JobStatus running);
+
+    /**
+     * Queues the running jobs whose last heartbeat is before the given time again.
+     */
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :queued, j.processed = 0, j.total = NULL, j.heartbeatAt = NULL WHERE j.status = :running AND j.heartbeatAt < :before")
+    int requeueStale(@Param("before") OffsetDateTime before, @Param("queued") JobStatus queued, @Param("running") JobStatus running);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :queued, j.processed = 0, j.total = NULL, j.heartbeatAt = NULL WHERE j.status = :running AND j.id IN :ids")
+    int requeue(@Param("ids") Collection<Long> ids, @Param("queued") JobStatus queued, @Param("running") JobStatus running);
+
+    List<Job> findByFinishedAtBefore(OffsetDateTime before);
+}
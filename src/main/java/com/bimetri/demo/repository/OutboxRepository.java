@@ -0,0 +1,122 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    private static final String COLUMNS = "id, aggregate_type, aggregate_id, event_type, payload, created_at, position";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<OutboxEventDto> rowMapper = (resultSet, rowNum) -> new OutboxEventDto(resultSet.getLong(1),
+            AggregateType.valueOf(resultSet.getString(2)), resultSet.getLong(3), ChangeType.valueOf(resultSet.getString(4)),
+            readPayload(resultSet.getString(5)), resultSet.getObject(6, OffsetDateTime.class), resultSet.getObject(7, Long.class), null);
+
+    /**
+     * Records a change in the outbox, to be published when the current transaction commits.
+     * <p>
+     * Must run inside the transaction making the change. It takes a transaction-level advisory lock on the aggregate,
+     * so transactions changing the same aggregate append their events one after another and the event IDs of an
+     * aggregate follow the order in which the changes were committed.
+     *
+     * @param aggregateType The type of the changed entity.
+     * @param aggregateId   The ID of the changed entity, the unit in which events are ordered.
+     * @param type          What changed.
+     * @param payload       The changed data, serialized to JSON.
+     */
+    public void append(AggregateType aggregateType, Long aggregateId, ChangeType type, Object payload) {
+        String json;
+        try {
+            json = this.objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+        this.jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(? || ':' || ?))", resultSet -> null, TenantContext.qualify(aggregateType.name()), aggregateId);
+        this.jdbcTemplate.update("INSERT INTO t_outbox (aggregate_type, aggregate_id, event_type, payload) VALUES (?, ?, ?, ?::jsonb)",
+                aggregateType.name(), aggregateId, type.name(), json);
+    }
+
+    /**
+     * Takes the relay lock unless another instance holds it. Must run inside a transaction, which releases the lock
+     * when it completes.
+     *
+     * @return true if the lock was taken.
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(this.jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class,
+                TenantContext.qualify("t_outbox")));
+    }
+
+    /**
+     * @param limit The maximum number of events to return.
+     * @return The oldest unpublished events, in ID order.
+     */
+    public List<OutboxEventDto> findUnpublished(int limit) {
+        return this.jdbcTemplate.query("SELECT " + COLUMNS + " FROM t_outbox WHERE published_at IS NULL ORDER BY id LIMIT ?", this.rowMapper, limit);
+    }
+
+    /**
+     * Pages on the position rather than the ID: positions are assigned by the relay, one batch at a time under its
+     * lock, so an event committed after the ones already served always gets a greater position, while its ID may be
+     * smaller.
+     *
+     * @param afterPosition Only events with a greater position are returned.
+     * @param limit         The maximum number of events to return.
+     * @return The published events after afterPosition, in position order.
+     */
+    public List<OutboxEventDto> findAfter(long afterPosition, int limit) {
+        return this.jdbcTemplate.query("SELECT " + COLUMNS + " FROM t_outbox WHERE position > ? ORDER BY position LIMIT ?", this.rowMapper, afterPosition, limit);
+    }
+
+    /**
+     * Marks the events published and numbers them from the position sequence in ID order. Must run under the relay
+     * lock, in the transaction that delivered them.
+     */
+    public void markPublished(List<Long> ids) {
+        this.jdbcTemplate.update("WITH numbered AS (SELECT id, nextval('t_outbox_position_seq') AS position FROM (SELECT id FROM t_outbox WHERE id = ANY (?) ORDER BY id) ids) "
+                        + "UPDATE t_outbox o SET published_at = now(), position = numbered.position FROM numbered WHERE o.id = numbered.id",
+                preparedStatement -> preparedStatement.setArray(1, preparedStatement.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    /**
+     * Marks the published events from the given ID on as unpublished, so the relay delivers them again.
+     *
+     * @param fromId The ID of the first event to deliver again.
+     * @return The number of events to be delivered again.
+     */
+    public int markUnpublishedFrom(long fromId) {
+        return this.jdbcTemplate.update("UPDATE t_outbox SET published_at = NULL WHERE id >= ? AND published_at IS NOT NULL", fromId);
+    }
+
+    /**
+     * @param retention How long published events are kept.
+     * @return The number of deleted events.
+     */
+    public int deletePublishedBefore(Duration retention) {
+        return this.jdbcTemplate.update("DELETE FROM t_outbox WHERE published_at < now() - make_interval(secs => ?)", retention.toMillis() / 1000.0);
+    }
+
+    private JsonNode readPayload(String json) {
+        try {
+            return this.objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
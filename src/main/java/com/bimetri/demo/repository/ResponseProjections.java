@@ -0,0 +1,98 @@
+package com.bimetri.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+final class ResponseProjections {
+    private ResponseProjections() {
+    }
+
+    /**
+     * Selects only the given attributes of the matching entities and copies them into response DTOs.
+     * <p>
+     * The query is a Criteria tuple query, so the database returns just the requested columns and no entity is
+     * loaded into the persistence context. Fields that were not selected stay null on the DTO.
+     *
+     * @param entityManager The EntityManager to run the query with.
+     * @param entityType    The entity to select from.
+     * @param specification The filter to apply, or null to select every row.
+     * @param fields        The attributes to select; every name must be a key of {@code setters}.
+     * @param sort          The order of the results.
+     * @param factory       Creates an empty DTO for each row.
+     * @param setters       Copies a selected attribute value into a DTO, by attribute name.
+     * @return One DTO per matching row.
+     */
+    static <E, D> List<D> findAll(EntityManager entityManager, Class<E> entityType, Specification<E> specification, List<String> fields, Sort sort,
+                                  Supplier<D> factory, Map<String, BiConsumer<D, Object>> setters) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<BiConsumer<D, Object>> selectedSetters = fields.stream().map(setters::get).toList();
+        List<D> results = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            D dto = factory.get();
+            for (int i = 0; i < selectedSetters.size(); i++) {
+                selectedSetters.get(i).accept(dto, tuple.get(i));
+            }
+            results.add(dto);
+        }
+
+        return results;
+    }
+
+    /**
+     * Builds a case-insensitive "starts with" filter on a string attribute.
+     *
+     * @param attribute The entity attribute to filter on.
+     * @param prefix    The prefix to match, or null for no filter.
+     * @return The filter, or null if no prefix was given.
+     */
+    static <E> Specification<E> startsWith(String attribute, String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+
+        String pattern = prefix.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(criteriaBuilder.lower(root.get(attribute)), pattern, '\\');
+    }
+
+    /**
+     * Builds an equality filter on an attribute.
+     *
+     * @param attribute The entity attribute to filter on.
+     * @param value     The value to match, or null for no filter.
+     * @return The filter, or null if no value was given.
+     */
+    static <E> Specification<E> equalTo(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(attribute), value);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.dto.request.StudentRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class StudentImportRepository {
+    /**
+     * Inserts the students in one statement, skipping school numbers that already exist, and records a CREATED outbox
+     * event with the same payload as StudentService.create for each inserted student.
+     */
+    private static final String INSERT = "WITH inserted AS (" +
+            "INSERT INTO t_student (name, surname, school_number) SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::bigint[]) " +
+            "ON CONFLICT DO NOTHING RETURNING id, name, surname, school_number), " +
+            "events AS (INSERT INTO t_outbox (aggregate_type, aggregate_id, event_type, payload) " +
+            "SELECT 'STUDENT', id, 'CREATED', jsonb_build_object('id', id, 'name', name, 'surname', surname, 'schoolNumber', school_number) FROM inserted) " +
+            "SELECT school_number FROM inserted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the given students, except those whose school number is already taken.
+     *
+     * @param students The students to create.
+     * @return The school numbers of the created students.
+     */
+    public Set<Long> insertSkippingDuplicates(List<StudentRequestDto> students) {
+        return new HashSet<>(this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT);
+            statement.setArray(1, connection.createArrayOf("varchar", students.stream().map(StudentRequestDto::getName).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", students.stream().map(StudentRequestDto::getSurname).toArray()));
+            statement.setArray(3, connection.createArrayOf("bigint", students.stream().map(StudentRequestDto::getSchoolNumber).toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1)));
+    }
+}
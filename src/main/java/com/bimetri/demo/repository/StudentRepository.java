@@ -1,14 +1,108 @@
 package com.bimetri.demo.repository;
 
 import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
-    List<Student> findByCoursesIsNull();
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
+    String SEARCH_TEXT = "(s.name || ' ' || s.surname || ' ' || CAST(s.school_number AS TEXT))";
 
-    boolean existsBySchoolNumber(String schoolNumber);
+    @Query("SELECT new com.bimetri.demo.dto.response.StudentResponseDto(s.id, s.name, s.surname, s.schoolNumber, s.version) FROM Student s")
+    List<StudentResponseDto> findAllAsResponse();
+
+    @Query("SELECT new com.bimetri.demo.dto.response.StudentResponseDto(s.id, s.name, s.surname, s.schoolNumber) FROM Student s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.term = :term AND e.studentId = s.id)")
+    List<StudentResponseDto> findByCoursesIsNullAsResponse(@Param("term") String term);
+
+    @Query("SELECT new com.bimetri.demo.dto.response.StudentResponseDto(s.id, s.name, s.surname, s.schoolNumber) FROM Enrollment e JOIN Student s ON s.id = e.studentId " +
+            "WHERE e.term = (SELECT c.term FROM Course c WHERE c.id = :courseId) AND e.courseId = :courseId")
+    List<StudentResponseDto> findByCourseIdAsResponse(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.bimetri.demo.dto.response.StudentAndCoursesResponseDto(s.id, s.name, s.surname, s.schoolNumber, COALESCE(LISTAGG(c.name, ', '), '')) " +
+            "FROM Student s LEFT JOIN Enrollment e ON e.studentId = s.id AND e.term = :term LEFT JOIN Course c ON c.id = e.courseId " +
+            "GROUP BY s.id, s.name, s.surname, s.schoolNumber ORDER BY s.id")
+    List<StudentAndCoursesResponseDto> findAllWithCourseNames(@Param("term") String term);
+
+    /**
+     * Streams the result of {@link #findAllWithCourseNames(String)}, fetching the rows in batches. Must be consumed
+     * inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.bimetri.demo.dto.response.StudentAndCoursesResponseDto(s.id, s.name, s.surname, s.schoolNumber, COALESCE(LISTAGG(c.name, ', '), '')) " +
+            "FROM Student s LEFT JOIN Enrollment e ON e.studentId = s.id AND e.term = :term LEFT JOIN Course c ON c.id = e.courseId " +
+            "GROUP BY s.id, s.name, s.surname, s.schoolNumber ORDER BY s.id")
+    Stream<StudentAndCoursesResponseDto> streamAllWithCourseNames(@Param("term") String term);
+
+    @Query(value = "SELECT id, name, surname, school_number AS \"schoolNumber\", distance FROM (" +
+            "SELECT s.id, s.name, s.surname, s.school_number, " + SEARCH_TEXT + " <->> :query AS distance FROM t_student s WHERE " + SEARCH_TEXT + " %> :query) matches " +
+            "WHERE (distance, id) > (:afterDistance, :afterId) ORDER BY distance, id LIMIT :limit", nativeQuery = true)
+    List<SearchMatch> search(@Param("query") String query, @Param("afterDistance") float afterDistance, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    boolean existsBySchoolNumber(Long schoolNumber);
+
+    boolean existsBySchoolNumberAndIdNot(Long schoolNumber, Long id);
+
+    /**
+     * Updates the student in one statement if its version is the expected one, or whatever it is when no version is
+     * expected, and increments the version.
+     *
+     * @return The new version, or empty if the student does not exist or has another version.
+     */
+    @Query(value = "UPDATE t_student SET name = :name, surname = :surname, school_number = :schoolNumber, version = version + 1 " +
+            "WHERE id = :id AND version = COALESCE(CAST(:version AS BIGINT), version) RETURNING version", nativeQuery = true)
+    Optional<Long> updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name, @Param("surname") String surname,
+                                   @Param("schoolNumber") Long schoolNumber);
+
+    /**
+     * Deletes the student in one statement, failing with a DataIntegrityViolationException while the student is
+     * enrolled in a course. Native, because a JPQL delete would remove the student's enrollments first.
+     *
+     * @return The number of students deleted, 0 if the student does not exist.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM t_student WHERE id = :id", nativeQuery = true)
+    int deleteRowById(@Param("id") Long id);
+
+    @Query("SELECT s.version FROM Student s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Locks the student row until the end of the transaction, serializing the enrollments of the student.
+     */
+    @Query(value = "SELECT id FROM t_student WHERE id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Locks the student row unless another transaction holds it, in which case nothing is returned.
+     */
+    @Query(value = "SELECT id FROM t_student WHERE id = :id FOR NO KEY UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> tryLockById(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM course_student WHERE term = :term AND student_id = :studentId", nativeQuery = true)
+    long countCourses(@Param("studentId") Long studentId, @Param("term") String term);
+
+    interface SearchMatch {
+        Long getId();
+
+        String getName();
+
+        String getSurname();
+
+        Long getSchoolNumber();
+
+        Float getDistance();
+    }
 }
@@ -0,0 +1,12 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.dto.request.StudentQueryDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+
+import java.util.List;
+
+public interface StudentRepositoryCustom {
+    List<String> RESPONSE_FIELDS = List.of("id", "name", "surname", "schoolNumber", "version");
+
+    List<StudentResponseDto> findAllAsResponse(StudentQueryDto studentQueryDto);
+}
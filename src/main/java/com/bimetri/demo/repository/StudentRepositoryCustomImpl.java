@@ -0,0 +1,42 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.dto.request.StudentQueryDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+    private static final Map<String, BiConsumer<StudentResponseDto, Object>> SETTERS = Map.of(
+            "id", (dto, value) -> dto.setId((Long) value),
+            "name", (dto, value) -> dto.setName((String) value),
+            "surname", (dto, value) -> dto.setSurname((String) value),
+            "schoolNumber", (dto, value) -> dto.setSchoolNumber((Long) value),
+            "version", (dto, value) -> dto.setVersion((Long) value));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects the requested fields of the students matching the query, in the requested order.
+     * <p>
+     * Name and surname filter by case-insensitive prefix, the school number by equality.
+     *
+     * @param studentQueryDto The StudentQueryDto object containing the filters, fields and sort order.
+     * @return A list of StudentResponseDto objects with only the requested fields set.
+     */
+    @Override
+    public List<StudentResponseDto> findAllAsResponse(StudentQueryDto studentQueryDto) {
+        Specification<Student> specification = Specification.where(ResponseProjections.<Student>startsWith("name", studentQueryDto.getName()))
+                .and(ResponseProjections.startsWith("surname", studentQueryDto.getSurname()))
+                .and(ResponseProjections.equalTo("schoolNumber", studentQueryDto.getSchoolNumber()));
+
+        return ResponseProjections.findAll(this.entityManager, Student.class, specification, studentQueryDto.getSelectedFields(RESPONSE_FIELDS),
+                studentQueryDto.getSortOrder(RESPONSE_FIELDS), StudentResponseDto::new, SETTERS);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.domain.Term;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TermRepository extends JpaRepository<Term, String> {
+    List<Term> findAllByOrderByTermAsc();
+
+    @Query("SELECT COUNT(t) > 0 FROM Term t WHERE t.term = :term AND t.archivedAt IS NULL")
+    boolean isOpen(@Param("term") String term);
+}
@@ -0,0 +1,29 @@
+package com.bimetri.demo.repository;
+
+import com.bimetri.demo.domain.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    Optional<WaitlistEntry> findByCourseIdAndStudentId(Long courseId, Long studentId);
+
+    Optional<WaitlistEntry> findFirstByCourseIdOrderByIdAsc(Long courseId);
+
+    boolean existsByCourseId(Long courseId);
+
+    long countByCourseIdAndIdLessThanEqual(Long courseId, Long id);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.courseId = :courseId AND w.studentId = :studentId")
+    int deleteByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.courseId IN (SELECT c.id FROM Course c WHERE c.term = :term)")
+    int deleteByCourseTerm(@Param("term") String term);
+}
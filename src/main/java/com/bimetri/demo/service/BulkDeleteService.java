@@ -0,0 +1,132 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.BulkDeleteProperties;
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.response.BulkDeleteResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.bimetri.demo.repository.BulkDeleteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class BulkDeleteService {
+    private final BulkDeleteRepository bulkDeleteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkDeleteProperties properties;
+    private final AtomicLong pending = new AtomicLong();
+    private final Map<AggregateType, Counter> deletedRecords = new EnumMap<>(AggregateType.class);
+    private final Map<AggregateType, Counter> removedEnrollments = new EnumMap<>(AggregateType.class);
+    private final Map<AggregateType, Timer> chunkTimers = new EnumMap<>(AggregateType.class);
+
+    public BulkDeleteService(BulkDeleteRepository bulkDeleteRepository, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                             BulkDeleteProperties properties, MeterRegistry meterRegistry) {
+        this.bulkDeleteRepository = bulkDeleteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+
+        for (AggregateType type : AggregateType.values()) {
+            String entity = type.name().toLowerCase();
+            this.deletedRecords.put(type, Counter.builder("bimetri.bulk.delete.records").tag("entity", entity)
+                    .description("Records removed by bulk deletes").register(meterRegistry));
+            this.removedEnrollments.put(type, Counter.builder("bimetri.bulk.delete.enrollments").tag("entity", entity)
+                    .description("Enrollments removed together with bulk deleted records").register(meterRegistry));
+            this.chunkTimers.put(type, Timer.builder("bimetri.bulk.delete.chunk").tag("entity", entity)
+                    .description("Duration of the transaction deleting one chunk").register(meterRegistry));
+        }
+        Gauge.builder("bimetri.bulk.delete.pending", this.pending, AtomicLong::get)
+                .description("IDs of running bulk deletes that are not processed yet").register(meterRegistry);
+    }
+
+    /**
+     * Deletes the given courses or students together with their enrollments.
+     * <p>
+     * The IDs are deduplicated, sorted and deleted chunk-size at a time. Each chunk runs in its own transaction: it
+     * first locks the existing rows of the chunk in ID order, then removes their course_student rows, the rows
+     * themselves and records their DELETED outbox events in one statement. Locks are therefore held for one chunk
+     * only, and a failure keeps the chunks committed before it. Waitlist entries are removed by the database. IDs
+     * that do not exist are reported rather than rejected, so repeating a request deletes nothing more.
+     *
+     * @param type Whether the IDs are course or student IDs.
+     * @param ids  The IDs to delete.
+     * @return A BulkDeleteResponseDto with the number of records and enrollments removed and the IDs not found.
+     * @throws BadRequestException If more than max-ids IDs are given.
+     */
+    public BulkDeleteResponseDto deleteAll(AggregateType type, List<Long> ids) {
+        if (ids.size() > this.properties.getMaxIds()) {
+            throw new BadRequestException(String.format(ErrorMessage.OUT_OF_RANGE, "The number of IDs", 1, this.properties.getMaxIds()));
+        }
+
+        List<Long> sortedIds = ids.stream().distinct().sorted().toList();
+        log.info("Bulk deleting {} {} records.", sortedIds.size(), type);
+
+        long deleted = 0;
+        long enrollments = 0;
+        List<Long> notFound = new ArrayList<>();
+        this.pending.addAndGet(sortedIds.size());
+        int remaining = sortedIds.size();
+        try {
+            for (int from = 0; from < sortedIds.size(); from += this.properties.getChunkSize()) {
+                List<Long> chunk = sortedIds.subList(from, Math.min(from + this.properties.getChunkSize(), sortedIds.size()));
+                ChunkResult result = this.chunkTimers.get(type).record(() -> this.transactionTemplate.execute(status -> deleteChunk(type, chunk)));
+
+                deleted += result.deleted().size();
+                enrollments += result.enrollments();
+                Set<Long> found = new HashSet<>(result.deleted());
+                chunk.stream().filter(id -> !found.contains(id)).forEach(notFound::add);
+
+                this.deletedRecords.get(type).increment(result.deleted().size());
+                this.removedEnrollments.get(type).increment(result.enrollments());
+                this.pending.addAndGet(-chunk.size());
+                remaining -= chunk.size();
+                log.debug("Bulk deleted {} {} records, {} remaining.", deleted, type, remaining);
+            }
+        } finally {
+            this.pending.addAndGet(-remaining);
+        }
+
+        log.info("Bulk deleted {} {} records and {} enrollments, {} not found.", deleted, type, enrollments, notFound.size());
+        return new BulkDeleteResponseDto(sortedIds.size(), deleted, enrollments, notFound);
+    }
+
+    private ChunkResult deleteChunk(AggregateType type, List<Long> ids) {
+        List<Long> found = this.bulkDeleteRepository.lock(type, ids);
+        if (found.isEmpty()) {
+            return new ChunkResult(found, 0);
+        }
+
+        long enrollments = this.bulkDeleteRepository.deleteWithEnrollments(type, found);
+        if (type == AggregateType.COURSE) {
+            this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSES));
+            found.forEach(id -> this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, id)));
+            this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.STUDENT_COURSES));
+        } else {
+            found.forEach(id -> this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.STUDENT_COURSES, id)));
+            this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSE_ROSTERS));
+        }
+
+        return new ChunkResult(found, enrollments);
+    }
+
+    private record ChunkResult(List<Long> deleted, long enrollments) {
+    }
+}
@@ -1,24 +1,41 @@
 package com.bimetri.demo.service;
 
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
 import com.bimetri.demo.domain.Course;
 import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.domain.WaitlistEntry;
+import com.bimetri.demo.dto.defaultResponse.ResponseMessage;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.bimetri.demo.dto.enums.EnrollmentStatus;
+import com.bimetri.demo.dto.request.CourseQueryDto;
 import com.bimetri.demo.dto.request.CourseRequestDto;
+import com.bimetri.demo.dto.request.SearchRequestDto;
 import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.EnrollmentChangeDto;
+import com.bimetri.demo.dto.response.EnrollmentResponseDto;
+import com.bimetri.demo.dto.response.SearchResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.BusinessException;
 import com.bimetri.demo.exception.ConflictException;
 import com.bimetri.demo.exception.ResourceNotFoundException;
 import com.bimetri.demo.exception.message.ErrorMessage;
 import com.bimetri.demo.mapper.CourseMapper;
 import com.bimetri.demo.repository.CourseRepository;
+import com.bimetri.demo.repository.OutboxRepository;
 import com.bimetri.demo.repository.StudentRepository;
+import com.bimetri.demo.repository.WaitlistRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
-import static com.bimetri.demo.dto.enums.ResponseEnum.COURSE;
-import static com.bimetri.demo.dto.enums.ResponseEnum.STUDENT;
 
 @Service
 @Slf4j
@@ -26,55 +43,117 @@ import static com.bimetri.demo.dto.enums.ResponseEnum.STUDENT;
 public class CourseService {
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final OutboxRepository outboxRepository;
+    private final TermService termService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all courses from the database.
+     * Retrieves the courses of the active term from the database.
      * <p>
-     * This method fetches all courses stored in the database and returns them as a list of CourseResponseDto objects.
-     * It logs an information message indicating the retrieval process.
+     * This method selects the active term's courses directly into CourseResponseDto objects, without loading managed
+     * Course entities into the persistence context. It logs an information message indicating the retrieval process.
+     * The list is cached until a course is created, updated or deleted on any instance.
      *
-     * @return A list of CourseResponseDto objects representing all courses in the database.
+     * @return A list of CourseResponseDto objects representing the courses of the active term.
      */
+    @Cacheable(cacheNames = CacheNames.COURSES, key = "'all'")
+    @Transactional(readOnly = true)
     public List<CourseResponseDto> getAll() {
         log.info("Fetching all course from the database.");
 
-        List<Course> contactMessageList = this.courseRepository.findAll();
+        return this.courseRepository.findAllAsResponse(this.termService.getActiveTerm());
+    }
+
+    /**
+     * Retrieves the courses matching the given query.
+     * <p>
+     * This method filters courses by name and term, sorts them by the requested fields and selects only the fields
+     * requested with {@code fields=}, so the database reads and the response carries only those columns. Without a
+     * term filter it covers the active term. Without any filter, sort or field selection it returns the same list as
+     * {@link #getAll()}, from the same cache entry.
+     *
+     * @param courseQueryDto The CourseQueryDto object containing the filters, the fields to return and the sort order.
+     * @return A list of CourseResponseDto objects with only the requested fields set.
+     * @throws BadRequestException if a requested field or sort field does not exist.
+     */
+    @Cacheable(cacheNames = CacheNames.COURSES, key = "'all'", condition = "!#p0.restricted")
+    @Transactional(readOnly = true)
+    public List<CourseResponseDto> getAll(CourseQueryDto courseQueryDto) {
+        if (!courseQueryDto.isRestricted()) {
+            return getAll();
+        }
+
+        log.info("Fetching courses matching the query from the database.");
+
+        if (courseQueryDto.getTerm() == null) {
+            courseQueryDto.setTerm(this.termService.getActiveTerm());
+        }
+
+        return this.courseRepository.findAllAsResponse(courseQueryDto);
+    }
+
+    /**
+     * Searches courses by name.
+     * <p>
+     * This method matches the query against course names using trigram word similarity, so partial and slightly
+     * misspelled queries also match. Matches are returned closest first, ties ordered by ID. When the page is full,
+     * the response carries a cursor that continues the search after its last match.
+     *
+     * @param searchRequestDto The SearchRequestDto object containing the query, the page size and the cursor to continue from.
+     * @return A SearchResponseDto containing the matching courses and the cursor of the next page, if any.
+     */
+    @Transactional(readOnly = true)
+    public SearchResponseDto<CourseResponseDto> search(SearchRequestDto searchRequestDto) {
+        log.info("Searching courses for: {}", searchRequestDto.getQuery());
+
+        List<CourseRepository.SearchMatch> matches = this.courseRepository.search(searchRequestDto.getQuery().trim(),
+                searchRequestDto.getAfterDistance(), searchRequestDto.getAfterId(), searchRequestDto.getLimit());
+        List<CourseResponseDto> results = matches.stream()
+                .map(match -> new CourseResponseDto(match.getId(), match.getName()))
+                .toList();
 
-        return CourseMapper.toDTOList(contactMessageList);
+        String next = null;
+        if (matches.size() == searchRequestDto.getLimit()) {
+            CourseRepository.SearchMatch last = matches.get(matches.size() - 1);
+            next = SearchRequestDto.cursor(last.getDistance(), last.getId());
+        }
+
+        return new SearchResponseDto<>(results, next);
     }
 
     /**
-     * Retrieves the courses associated with a student.
+     * Retrieves the courses associated with a student in the active term.
      * <p>
      * This method retrieves the courses associated with a student identified by the provided student ID.
-     * It first checks if a student with the given ID exists in the database. If the student is found,
-     * the courses associated with that student are retrieved. If no courses are associated with the student,
-     * a ResourceNotFoundException is thrown. If no student is found with the specified ID, a
-     * ResourceNotFoundException is also thrown.
+     * The courses associated with that student are selected directly into CourseResponseDto objects. If no courses
+     * are associated with the student, it checks whether the student exists, and a ResourceNotFoundException is thrown
+     * either way, naming the student or the missing courses. Found courses are cached until the student's
+     * enrollments or any course change on any instance.
      *
      * @param studentId The unique identifier of the student whose courses are to be retrieved.
      * @return A list of CourseResponseDto objects representing the courses associated with the student.
      * @throws ResourceNotFoundException if no student is found with the specified ID or if no courses are associated
      *                                   with the student.
      */
+    @Cacheable(cacheNames = CacheNames.STUDENT_COURSES, key = "#p0")
+    @Transactional(readOnly = true)
     public List<CourseResponseDto> findStudentCourses(Long studentId) {
         log.info("Fetching course with Student ID: {}", studentId);
 
-        Optional<Student> student = this.studentRepository.findById(studentId);
-
-        if (student.isPresent()) {
-            List<Course> courses = student.get().getCourses();
-            if (courses == null || courses.isEmpty()) {
-                throw new ResourceNotFoundException(String.format(ErrorMessage.NOT_FOUND_MESSAGE, COURSE));
+        List<CourseResponseDto> courses = this.courseRepository.findByStudentIdAsResponse(studentId, this.termService.getActiveTerm());
+        if (courses.isEmpty()) {
+            if (!this.studentRepository.existsById(studentId)) {
+                throw new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, studentId));
             }
-            return CourseMapper.toDTOList(courses);
-        } else {
-            throw new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, studentId));
+            throw new ResourceNotFoundException(ErrorMessage.COURSES_NOT_FOUND);
         }
+
+        return courses;
     }
 
     /**
-     * Retrieves the courses with no associated students.
+     * Retrieves the courses of the active term with no associated students.
      * <p>
      * This method retrieves the courses that do not have any associated students.
      * It queries the database for courses with no students associated with them and returns
@@ -82,114 +161,188 @@ public class CourseService {
      *
      * @return A list of CourseResponseDto objects representing the courses with no associated students.
      */
+    @Transactional(readOnly = true)
     public List<CourseResponseDto> findByStudentsIsNull() {
         log.info("Fetching course student not found!");
 
-        return CourseMapper.toDTOList(this.courseRepository.findByStudentsIsNull());
+        return this.courseRepository.findByStudentsIsNullAsResponse(this.termService.getActiveTerm());
     }
 
     /**
      * Creates a new course in the system.
      * <p>
-     * This method is responsible for creating a new course based on the provided CourseRequestDto object.
-     * It first checks if a course with the same name already exists in the database. If a course with the same name
-     * is found, a ConflictException is thrown to indicate the duplication. Otherwise, the method proceeds to save
-     * the new course by converting the CourseRequestDto object to an entity using the CourseMapper and then
-     * persisting it into the database.
+     * This method is responsible for creating a new course based on the provided CourseRequestDto object, in the
+     * term it names or else the active term, which must be open. It first checks if a course with the same name
+     * already exists in that term. If a course with the same name is found, a ConflictException is thrown to
+     * indicate the duplication. Otherwise, the method proceeds to save the new course by converting the
+     * CourseRequestDto object to an entity using the CourseMapper and then persisting it into the database, together
+     * with a CREATED event in the outbox.
      *
      * @param courseRequestDto The CourseRequestDto object containing the information of the course to be created
-     * @throws ConflictException Thrown if a course with the same name already exists in the database
+     * @throws ConflictException Thrown if a course with the same name already exists in the term, or the term is not
+     *                           open
      */
+    @Transactional
     public void create(CourseRequestDto courseRequestDto) {
         log.info("Creating a new course.");
 
-        if (this.courseRepository.existsByName(courseRequestDto.getName())) {
+        String term = courseRequestDto.getTerm() != null ? courseRequestDto.getTerm() : this.termService.getActiveTerm();
+        this.termService.requireOpen(term);
+        if (this.courseRepository.existsByNameAndTerm(courseRequestDto.getName(), term)) {
             throw new ConflictException(String.format(ErrorMessage.DUPLICATE_NAME, courseRequestDto.getName()));
         }
 
-        this.courseRepository.save(CourseMapper.toEntity(courseRequestDto));
+        Course course = this.courseRepository.save(CourseMapper.toEntity(courseRequestDto, term));
+        this.outboxRepository.append(AggregateType.COURSE, course.getId(), ChangeType.CREATED, CourseMapper.toDTO(course));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSES));
     }
 
 
     /**
      * Updates an existing course.
      * <p>
-     * This method updates an existing course with the provided ID using the information provided in the CourseRequestDto.
-     * It first retrieves the course from the database based on the given ID. If the course does not exist, it throws a
-     * ResourceNotFoundException. Then, it updates the name of the retrieved course with the name provided in the
-     * CourseRequestDto and saves the changes to the database using the course repository.
+     * This method updates an existing course with the provided ID using the information provided in the CourseRequestDto,
+     * in a single UPDATE statement without loading the course first. When the CourseRequestDto carries the version the
+     * client last read, the update only applies if the course is still at that version, so a concurrent edit is
+     * reported as a conflict instead of being overwritten. Every update increments the version.
      *
      * @param id               The ID of the course to be updated.
      * @param courseRequestDto The CourseRequestDto object containing the updated information for the course.
      * @throws ResourceNotFoundException If no course exists with the provided ID.
+     * @throws ConflictException         If the course is no longer at the version given in the CourseRequestDto.
      */
+    @Transactional
     public void update(Long id, CourseRequestDto courseRequestDto) {
         log.info("Updating course with ID: {}", id);
 
-        Course courseToUpdate = this.courseRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
-
-        courseToUpdate.setName(courseRequestDto.getName());
+        Long version = this.courseRepository.updateIfVersion(id, courseRequestDto.getVersion(), courseRequestDto.getName())
+                .orElseThrow(() -> versionConflict(id));
 
-        this.courseRepository.save(courseToUpdate);
+        this.outboxRepository.append(AggregateType.COURSE, id, ChangeType.UPDATED, new CourseResponseDto(id, courseRequestDto.getName(), version));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSES));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.STUDENT_COURSES));
     }
 
     /**
      * Deletes a course by its ID.
      * <p>
-     * This method retrieves a course from the database based on the provided ID. If the course exists, it is deleted
-     * from the database. If no course exists with the provided ID, it throws a ResourceNotFoundException.
-     * <p>
-     * Note: Deleting a course might fail if one or more students are currently enrolled in it. In such cases, the method
-     * will throw an IllegalStateException indicating that the course cannot be deleted due to existing enrollments.
+     * This method deletes the course with the provided ID together with its enrollments, in a single statement
+     * without loading the course first. Its waitlist is removed by the database. If no course exists with the provided
+     * ID, it throws a ResourceNotFoundException.
      *
      * @param id The ID of the course to be deleted.
      * @throws ResourceNotFoundException If no course exists with the provided ID.
-     * @throws IllegalStateException     If the course cannot be deleted due to existing enrollments.
      */
+    @Transactional
     public void deleteById(Long id) throws ResourceNotFoundException {
         log.info("Deleting course with ID: {}", id);
 
-        Course course = this.courseRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
+        if (this.courseRepository.deleteWithEnrollmentsById(id) == 0) {
+            throw new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id));
+        }
 
-        this.courseRepository.deleteById(course.getId());
+        this.outboxRepository.append(AggregateType.COURSE, id, ChangeType.DELETED, new CourseResponseDto(id, null));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSES));
+        this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, id));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.STUDENT_COURSES));
     }
 
     /**
-     * Enrolls a student to a course.
+     * Enrolls a student to a course, or adds the student to the course's waitlist when it is full.
      * <p>
-     * This method enrolls a student to a course based on the provided student ID and course ID. It first retrieves
-     * the student and course from the database using their respective IDs. If either the student or the course does
-     * not exist, it throws a ResourceNotFoundException. It then checks if the maximum number of courses or students
-     * allowed per course is exceeded. If not, it adds the student to the course's list of students and vice versa,
-     * and saves the changes to the database. If the student is already enrolled in the course, it throws a ConflictException.
+     * This method locks the course row, then the student row, so concurrent enrollments of the same course or the same
+     * student run one after another and neither limit can be exceeded. If either does not exist, it throws a
+     * ResourceNotFoundException. A student who is already enrolled gets a ConflictException, as does a student who has
+     * reached the maximum number of courses in the course's term, or a course whose term has been archived. The student
+     * is enrolled directly only while the course has free seats and nobody is waiting for one; otherwise the student
+     * joins the end of the waitlist and is enrolled by {@link WaitlistService#promoteNextCourse(long)} once a seat
+     * frees up. Enrolling a student who is already waiting returns the current waitlist position.
      *
      * @param studentId The ID of the student to be enrolled.
      * @param courseId  The ID of the course to which the student will be enrolled.
+     * @return An EnrollmentResponseDto saying whether the student was enrolled or waitlisted, and at which position.
      * @throws ResourceNotFoundException If the student or the course does not exist with the provided ID.
-     * @throws ConflictException         If the maximum number of courses or students allowed per course is exceeded,
-     *                                   or if the student is already enrolled in the course.
+     * @throws ConflictException         If the student has reached the maximum number of courses or is already
+     *                                   enrolled in the course, or the term of the course is not open.
      */
-    public void enrollStudentToCourse(Long studentId, Long courseId) {
+    @Transactional
+    public EnrollmentResponseDto enrollStudentToCourse(Long studentId, Long courseId) {
         log.info("Fetching course with Student ID: {}, Course ID: {}", studentId, courseId);
 
-        Student student = studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, studentId)));
-        Course course = courseRepository.findById(courseId).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, courseId)));
-
-        if (!student.getCourses().contains(course)) {
-            if (student.getCourses().size() < 5) {
-                if (course.getStudents().size() < 50) {
-                    course.getStudents().add(student);
-                    studentRepository.save(student);
-                    student.getCourses().add(course);
-                    courseRepository.save(course);
-                } else {
-                    throw new ConflictException(String.format(ErrorMessage.RESOURCE_MAX_COUNT, STUDENT));
-                }
-            } else {
-                throw new ConflictException(String.format(ErrorMessage.RESOURCE_MAX_COUNT, COURSE));
-            }
-        } else {
+        // Retried enrollments are rejected with one indexed lookup, without waiting for the course lock.
+        if (this.courseRepository.isEnrolled(courseId, studentId)) {
+            throw new ConflictException(ErrorMessage.DUPLICATE_COURSE);
+        }
+
+        String term = this.courseRepository.lockTermById(courseId).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, courseId)));
+        this.studentRepository.lockById(studentId).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, studentId)));
+        this.termService.requireOpen(term);
+
+        if (this.courseRepository.isEnrolled(courseId, studentId)) {
             throw new ConflictException(ErrorMessage.DUPLICATE_COURSE);
         }
+
+        Optional<WaitlistEntry> waiting = this.waitlistRepository.findByCourseIdAndStudentId(courseId, studentId);
+        if (waiting.isPresent()) {
+            return waitlisted(waiting.get());
+        }
+
+        if (this.studentRepository.countCourses(studentId, term) >= Student.MAX_COURSES) {
+            throw new ConflictException(ErrorMessage.COURSE_LIMIT_REACHED);
+        }
+
+        if (this.courseRepository.countStudents(courseId) < Course.MAX_STUDENTS && !this.waitlistRepository.existsByCourseId(courseId)) {
+            this.courseRepository.enroll(courseId, studentId);
+            this.outboxRepository.append(AggregateType.COURSE, courseId, ChangeType.ENROLLED, new EnrollmentChangeDto(courseId, studentId));
+            publishEnrollmentChanged(courseId, studentId);
+            return new EnrollmentResponseDto(ResponseMessage.CREATED_SUCCESS_RESPONSE_MESSAGE, EnrollmentStatus.ENROLLED, null);
+        }
+
+        log.info("Course ID: {} is full, adding Student ID: {} to its waitlist.", courseId, studentId);
+        return waitlisted(this.waitlistRepository.save(new WaitlistEntry(courseId, studentId)));
+    }
+
+    /**
+     * Removes a student from a course.
+     * <p>
+     * The freed seat goes to the head of the course's waitlist, if anyone is waiting, on the next run of the
+     * WaitlistPromoter.
+     *
+     * @param studentId The ID of the student to be removed.
+     * @param courseId  The ID of the course the student is removed from.
+     * @throws ResourceNotFoundException If the student is not enrolled in the course.
+     */
+    @Transactional
+    public void unenrollStudentFromCourse(Long studentId, Long courseId) {
+        log.info("Removing Student ID: {} from Course ID: {}", studentId, courseId);
+
+        if (this.courseRepository.unenroll(courseId, studentId) == 0) {
+            throw new ResourceNotFoundException(ErrorMessage.NOT_ENROLLED);
+        }
+        this.outboxRepository.append(AggregateType.COURSE, courseId, ChangeType.UNENROLLED, new EnrollmentChangeDto(courseId, studentId));
+        publishEnrollmentChanged(courseId, studentId);
+    }
+
+    /**
+     * Evicts the cached roster of the course and the cached courses of the student, on every instance once the
+     * current transaction commits.
+     */
+    private void publishEnrollmentChanged(Long courseId, Long studentId) {
+        this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, courseId));
+        this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.STUDENT_COURSES, studentId));
+    }
+
+    private EnrollmentResponseDto waitlisted(WaitlistEntry entry) {
+        long position = this.waitlistRepository.countByCourseIdAndIdLessThanEqual(entry.getCourseId(), entry.getId());
+
+        return new EnrollmentResponseDto(ResponseMessage.WAITLISTED_RESPONSE_MESSAGE, EnrollmentStatus.WAITLISTED, position);
+    }
+
+    /**
+     * Explains why a conditional update of the course matched no row: the course is at another version, or is gone.
+     */
+    private BusinessException versionConflict(Long id) {
+        return this.courseRepository.findVersionById(id).<BusinessException>map(version -> new ConflictException(String.format(ErrorMessage.VERSION_CONFLICT, id, version)))
+                .orElseGet(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
     }
 }
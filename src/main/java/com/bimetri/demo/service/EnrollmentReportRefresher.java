@@ -0,0 +1,39 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.ReportProperties;
+import com.bimetri.demo.config.tenancy.Tenants;
+import com.bimetri.demo.repository.EnrollmentReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bimetri.reports", name = "materialized", havingValue = "true")
+public class EnrollmentReportRefresher {
+    private final EnrollmentReportRepository enrollmentReportRepository;
+    private final ReportProperties reportProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Tenants tenants;
+
+    /**
+     * Refreshes the materialized enrollment counts every refresh interval.
+     * <p>
+     * Every instance runs this schedule, for every tenant in its own transaction, but only one refreshes a tenant at a
+     * time and a refresh is skipped when another instance completed one within the last half interval, so the data is
+     * never much older than one interval.
+     */
+    @Scheduled(fixedDelayString = "${bimetri.reports.refresh-interval:PT1M}")
+    public void refresh() {
+        this.tenants.forEach(tenant -> {
+            if (Boolean.TRUE.equals(this.transactionTemplate.execute(status ->
+                    this.enrollmentReportRepository.refreshIfOlderThan(this.reportProperties.getRefreshInterval().dividedBy(2))))) {
+                log.info("Refreshed the materialized enrollment counts of tenant {}.", tenant);
+            }
+        });
+    }
+}
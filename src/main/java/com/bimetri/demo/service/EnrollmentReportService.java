@@ -0,0 +1,112 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.ReportProperties;
+import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.dto.enums.ReportSource;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.EnrollmentReportDto;
+import com.bimetri.demo.dto.response.HistogramBucketDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.bimetri.demo.repository.EnrollmentReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EnrollmentReportService {
+    private final EnrollmentReportRepository enrollmentReportRepository;
+    private final ReportProperties reportProperties;
+
+    /**
+     * Computes the enrollment summary: totals, course size and student load histograms, and full courses.
+     * <p>
+     * This method runs two GROUP BY queries, one per histogram, and derives every total from them. When materialized
+     * reports are enabled and the materialized views were refreshed within the configured staleness bound, the
+     * histograms are read from the views; otherwise they are computed from the live tables. The report states which
+     * source it was built from and the time its data reflects.
+     *
+     * @return An EnrollmentReportDto with the totals and histograms of all enrollments.
+     */
+    @Transactional(readOnly = true)
+    public EnrollmentReportDto getEnrollmentReport() {
+        log.info("Computing the enrollment report.");
+
+        Optional<OffsetDateTime> refreshedAt = findFreshMaterializedData();
+        ReportSource source = refreshedAt.isPresent() ? ReportSource.MATERIALIZED : ReportSource.LIVE;
+
+        List<HistogramBucketDto> courseSizes = this.enrollmentReportRepository.findCourseSizeHistogram(source);
+        List<HistogramBucketDto> studentLoads = this.enrollmentReportRepository.findStudentLoadHistogram(source);
+
+        long courses = 0;
+        long enrollments = 0;
+        long coursesAtCapacity = 0;
+        for (HistogramBucketDto bucket : courseSizes) {
+            courses += bucket.getCount();
+            enrollments += bucket.getEnrollments() * bucket.getCount();
+            if (bucket.getEnrollments() >= Course.MAX_STUDENTS) {
+                coursesAtCapacity += bucket.getCount();
+            }
+        }
+        long students = studentLoads.stream().mapToLong(HistogramBucketDto::getCount).sum();
+
+        return new EnrollmentReportDto(source, refreshedAt.orElseGet(OffsetDateTime::now), students, courses, enrollments, Course.MAX_STUDENTS,
+                coursesAtCapacity, courseSizes, studentLoads);
+    }
+
+    /**
+     * Retrieves the courses that have reached the maximum number of students.
+     *
+     * @return A list of CourseResponseDto objects representing the full courses, ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseResponseDto> findCoursesAtCapacity() {
+        log.info("Fetching courses at capacity.");
+
+        return this.enrollmentReportRepository.findCoursesWithAtLeast(Course.MAX_STUDENTS, currentSource());
+    }
+
+    /**
+     * Retrieves the students enrolled in fewer than the given number of courses.
+     *
+     * @param courses The number of courses, between 1 and the maximum number of courses per student.
+     * @return A list of StudentResponseDto objects representing the matching students, ordered by ID.
+     * @throws BadRequestException if the number of courses is out of range.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentResponseDto> findStudentsWithFewerCourses(int courses) {
+        log.info("Fetching students with fewer than {} courses.", courses);
+
+        if (courses < 1 || courses > Student.MAX_COURSES) {
+            throw new BadRequestException(String.format(ErrorMessage.OUT_OF_RANGE, "courses", 1, Student.MAX_COURSES));
+        }
+
+        return this.enrollmentReportRepository.findStudentsWithFewerThan(courses, currentSource());
+    }
+
+    private ReportSource currentSource() {
+        return findFreshMaterializedData().isPresent() ? ReportSource.MATERIALIZED : ReportSource.LIVE;
+    }
+
+    private Optional<OffsetDateTime> findFreshMaterializedData() {
+        if (!this.reportProperties.isMaterialized()) {
+            return Optional.empty();
+        }
+
+        Optional<OffsetDateTime> refreshedAt = this.enrollmentReportRepository.findRefreshedWithin(this.reportProperties.getMaxStaleness());
+        if (refreshedAt.isEmpty()) {
+            log.warn("Materialized enrollment counts are older than {}, computing the report from live data.", this.reportProperties.getMaxStaleness());
+        }
+
+        return refreshedAt;
+    }
+}
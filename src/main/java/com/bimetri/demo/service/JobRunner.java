@@ -0,0 +1,171 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.jobs.JobProperties;
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.config.tenancy.Tenants;
+import com.bimetri.demo.dto.enums.JobStatus;
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.service.job.JobContext;
+import com.bimetri.demo.service.job.JobHandler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class JobRunner {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobService jobService;
+    private final JobProperties jobProperties;
+    private final Tenants tenants;
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final Map<JobType, AtomicInteger> runningByType = new EnumMap<>(JobType.class);
+    private final Set<JobContext> running = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private volatile boolean stopping;
+
+    public JobRunner(JobService jobService, JobProperties jobProperties, Tenants tenants, List<JobHandler> handlers) {
+        this.jobService = jobService;
+        this.jobProperties = jobProperties;
+        this.tenants = tenants;
+
+        int threads = 0;
+        for (JobHandler handler : handlers) {
+            this.handlers.put(handler.getType(), handler);
+            this.runningByType.put(handler.getType(), new AtomicInteger());
+            threads += jobProperties.getConcurrency(handler.getType());
+        }
+
+        // Jobs are only claimed while their type has a free slot, so there is always a thread for them.
+        this.executor.setCorePoolSize(Math.max(1, threads));
+        this.executor.setMaxPoolSize(Math.max(1, threads));
+        this.executor.setQueueCapacity(0);
+        this.executor.setThreadNamePrefix("job-");
+        this.executor.initialize();
+    }
+
+    /**
+     * Reports the progress of the running jobs, queues again the jobs of stopped instances, and starts queued jobs up
+     * to the concurrency limit of each type.
+     * <p>
+     * Every instance runs this schedule, for every tenant; each queued job is claimed by exactly one of them. The
+     * concurrency limits apply to the jobs of all tenants together.
+     */
+    @Scheduled(fixedDelayString = "${bimetri.jobs.poll-interval:PT1S}")
+    public void poll() {
+        if (this.stopping) {
+            return;
+        }
+
+        this.tenants.forEach(this::poll);
+    }
+
+    private void poll(String tenant) {
+        List<JobContext> runningOfTenant = runningOf(tenant);
+        if (!runningOfTenant.isEmpty()) {
+            List<Long> cancelRequested = this.jobService.reportProgress(runningOfTenant);
+            runningOfTenant.stream().filter(context -> cancelRequested.contains(context.getJobId())).forEach(JobContext::cancel);
+        }
+
+        int requeued = this.jobService.requeueStale();
+        if (requeued > 0) {
+            log.warn("Queued {} job(s) of tenant {} again whose instance stopped running them.", requeued, tenant);
+        }
+
+        this.handlers.forEach((type, handler) -> {
+            AtomicInteger runningOfType = this.runningByType.get(type);
+            while (runningOfType.get() < this.jobProperties.getConcurrency(type)) {
+                Optional<Long> claimed = this.jobService.claimNext(type);
+                if (claimed.isEmpty()) {
+                    break;
+                }
+
+                JobContext context = new JobContext(tenant, claimed.get(), this.jobService.inputPath(claimed.get()), this.jobService.resultPath(claimed.get(), type));
+                this.running.add(context);
+                runningOfType.incrementAndGet();
+                this.executor.execute(() -> TenantContext.run(tenant, () -> run(handler, context)));
+            }
+        });
+    }
+
+    /**
+     * Deletes the jobs and results that are past the retention period.
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1M")
+    public void purge() {
+        this.tenants.forEach(tenant -> {
+            int deleted = this.jobService.purge();
+            if (deleted > 0) {
+                log.info("Deleted {} finished job(s) of tenant {} older than {}.", deleted, tenant, this.jobProperties.getRetention());
+            }
+        });
+    }
+
+    /**
+     * Stops the running jobs and queues them again, so another instance, or this one after a restart, reruns them.
+     */
+    @PreDestroy
+    public void stop() {
+        this.stopping = true;
+        this.running.forEach(JobContext::cancel);
+        this.tenants.forEach(tenant -> this.jobService.requeue(runningOf(tenant).stream().map(JobContext::getJobId).toList()));
+        this.executor.shutdown();
+    }
+
+    private List<JobContext> runningOf(String tenant) {
+        return this.running.stream().filter(context -> context.getTenant().equals(tenant)).toList();
+    }
+
+    private void run(JobHandler handler, JobContext context) {
+        long id = context.getJobId();
+        log.info("Running {} job with ID: {}", handler.getType(), id);
+        try {
+            Files.createDirectories(context.getResult().toAbsolutePath().getParent());
+            handler.run(context);
+            this.jobService.finish(id, JobStatus.SUCCEEDED, context.getProcessed(), null);
+            log.info("Job with ID: {} succeeded after {} item(s).", id, context.getProcessed());
+        } catch (CancellationException e) {
+            deleteFile(context.getResult());
+            if (!this.stopping) {
+                this.jobService.finish(id, JobStatus.CANCELLED, context.getProcessed(), null);
+                log.info("Job with ID: {} was cancelled after {} item(s).", id, context.getProcessed());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Job with ID: {} failed: {}", id, e.getMessage(), e);
+            deleteFile(context.getResult());
+            if (!this.stopping) {
+                this.jobService.finish(id, JobStatus.FAILED, context.getProcessed(), StringUtils.truncate(String.valueOf(e.getMessage()), MAX_ERROR_LENGTH));
+            }
+        } finally {
+            this.running.remove(context);
+            this.runningByType.get(handler.getType()).decrementAndGet();
+            if (!this.stopping) {
+                deleteFile(context.getInput());
+            }
+        }
+    }
+
+    private static void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
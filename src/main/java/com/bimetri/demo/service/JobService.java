@@ -0,0 +1,263 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.jobs.JobProperties;
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.domain.Job;
+import com.bimetri.demo.dto.enums.JobStatus;
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.dto.response.JobResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.ConflictException;
+import com.bimetri.demo.exception.ResourceNotFoundException;
+import com.bimetri.demo.exception.TooManyRequestsException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.bimetri.demo.mapper.JobMapper;
+import com.bimetri.demo.repository.JobRepository;
+import com.bimetri.demo.service.job.JobContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobService {
+    private final JobRepository jobRepository;
+    private final JobProperties jobProperties;
+
+    /**
+     * Queues a job, to be run by the JobRunner of any instance.
+     * <p>
+     * The request body, if the job type takes one, is stored in the job directory before the job is queued. When
+     * max-queued jobs are already waiting, the job is rejected so that clients back off instead of piling up work.
+     *
+     * @param type  The type of job to run.
+     * @param input The request body, the input of job types that take one.
+     * @return A JobResponseDto with the ID of the queued job.
+     * @throws TooManyRequestsException if too many jobs are queued.
+     * @throws BadRequestException      if the job type requires an input and the body is empty, or if the body is larger
+     *                                  than max-input-size.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public JobResponseDto submit(JobType type, InputStream input) throws IOException {
+        log.info("Submitting a {} job.", type);
+
+        if (this.jobRepository.countByStatus(JobStatus.QUEUED) >= this.jobProperties.getMaxQueued()) {
+            throw new TooManyRequestsException(ErrorMessage.JOB_QUEUE_FULL);
+        }
+
+        Job job = this.jobRepository.save(new Job(type));
+        if (type.isInputRequired()) {
+            storeInput(job.getId(), type, input);
+        }
+
+        return JobMapper.toDTO(job);
+    }
+
+    /**
+     * Retrieves the status and progress of a job.
+     *
+     * @param id The ID of the job.
+     * @return A JobResponseDto with the status and progress of the job.
+     * @throws ResourceNotFoundException if no job exists with the provided ID.
+     */
+    @Transactional(readOnly = true)
+    public JobResponseDto getJob(Long id) {
+        return JobMapper.toDTO(findById(id));
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled right away; a running job stops at its next progress report, within
+     * about one poll interval, and its partial result is deleted.
+     * <p>
+     * Both cases are conditional updates of the job's status, so a cancellation racing with an instance claiming or
+     * finishing the job never overwrites its new status. A job that was queued again in between is cancelled on the
+     * next attempt.
+     *
+     * @param id The ID of the job.
+     * @return A JobResponseDto with the status of the job.
+     * @throws ResourceNotFoundException if no job exists with the provided ID.
+     * @throws ConflictException         if the job has already finished.
+     */
+    @Transactional
+    public JobResponseDto cancel(Long id) {
+        log.info("Cancelling job with ID: {}", id);
+
+        while (true) {
+            if (this.jobRepository.cancelQueued(id, OffsetDateTime.now(), JobStatus.CANCELLED, JobStatus.QUEUED) > 0) {
+                Job job = findById(id);
+                deleteFiles(job);
+                return JobMapper.toDTO(job);
+            }
+            if (this.jobRepository.requestCancel(id, JobStatus.RUNNING) > 0) {
+                return JobMapper.toDTO(findById(id));
+            }
+
+            Job job = findById(id);
+            if (job.getStatus() != JobStatus.QUEUED && job.getStatus() != JobStatus.RUNNING) {
+                throw new ConflictException(String.format(ErrorMessage.JOB_FINISHED, id));
+            }
+        }
+    }
+
+    /**
+     * Locates the result of a succeeded job.
+     *
+     * @param id The ID of the job.
+     * @return The path of the result file.
+     * @throws ResourceNotFoundException if no job exists with the provided ID, or its result is no longer available.
+     * @throws ConflictException         if the job has not succeeded.
+     */
+    @Transactional(readOnly = true)
+    public Path getResult(Long id) {
+        Job job = findById(id);
+        if (job.getStatus() != JobStatus.SUCCEEDED) {
+            throw new ConflictException(String.format(ErrorMessage.JOB_NOT_SUCCEEDED, id, job.getStatus()));
+        }
+
+        Path result = resultPath(id, job.getType());
+        if (!Files.isReadable(result)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessage.JOB_RESULT_NOT_FOUND, id));
+        }
+
+        return result;
+    }
+
+    /**
+     * Claims the oldest queued job of the given type, skipping jobs being claimed by other instances.
+     *
+     * @return The ID of the claimed job, now running, or empty if no job of that type is queued.
+     */
+    @Transactional
+    public Optional<Long> claimNext(JobType type) {
+        Optional<Long> claimed = this.jobRepository.lockNextQueued(type.name());
+        claimed.flatMap(this.jobRepository::findById).ifPresent(job -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            job.setStatus(JobStatus.RUNNING);
+            job.setStartedAt(now);
+            job.setHeartbeatAt(now);
+        });
+
+        return claimed;
+    }
+
+    /**
+     * Records the progress of running jobs, which also keeps them from being queued again as stale.
+     *
+     * @param running The jobs running on this instance.
+     * @return The IDs of the jobs whose cancellation was requested.
+     */
+    @Transactional
+    public List<Long> reportProgress(Collection<JobContext> running) {
+        OffsetDateTime now = OffsetDateTime.now();
+        running.forEach(context -> this.jobRepository.updateProgress(context.getJobId(), context.getProcessed(), context.getTotal(), now, JobStatus.RUNNING));
+
+        return this.jobRepository.findCancelRequested(running.stream().map(JobContext::getJobId).toList());
+    }
+
+    @Transactional
+    public void finish(long id, JobStatus status, long processed, String error) {
+        this.jobRepository.finish(id, status, processed, error, OffsetDateTime.now(), JobStatus.RUNNING);
+    }
+
+    /**
+     * Queues the given running jobs again, to be rerun from the start by any instance.
+     */
+    @Transactional
+    public void requeue(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            this.jobRepository.requeue(ids, JobStatus.QUEUED, JobStatus.RUNNING);
+        }
+    }
+
+    /**
+     * Queues the running jobs whose instance stopped reporting their progress again.
+     *
+     * @return The number of jobs queued again.
+     */
+    @Transactional
+    public int requeueStale() {
+        return this.jobRepository.requeueStale(OffsetDateTime.now().minus(this.jobProperties.getStaleAfter()), JobStatus.QUEUED, JobStatus.RUNNING);
+    }
+
+    /**
+     * Deletes the jobs that finished longer ago than the retention period, with their files.
+     *
+     * @return The number of deleted jobs.
+     */
+    @Transactional
+    public int purge() {
+        List<Job> expired = this.jobRepository.findByFinishedAtBefore(OffsetDateTime.now().minus(this.jobProperties.getRetention()));
+        expired.forEach(this::deleteFiles);
+        this.jobRepository.deleteAll(expired);
+
+        return expired.size();
+    }
+
+    public Path inputPath(long id) {
+        return directory().resolve(id + ".input");
+    }
+
+    public Path resultPath(long id, JobType type) {
+        return directory().resolve(id + "." + type.getFileExtension());
+    }
+
+    /**
+     * Job IDs are only unique within a tenant, so the files of other tenants than the default one are kept in a
+     * subdirectory named after the tenant.
+     */
+    private Path directory() {
+        return TenantContext.isDefault() ? this.jobProperties.getDirectory() : this.jobProperties.getDirectory().resolve(TenantContext.getTenant());
+    }
+
+    private Job findById(Long id) {
+        return this.jobRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
+    }
+
+    private void storeInput(long id, JobType type, InputStream input) throws IOException {
+        Files.createDirectories(directory());
+        Path path = inputPath(id);
+
+        long maxSize = this.jobProperties.getMaxInputSize().toBytes();
+        long size = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream output = Files.newOutputStream(path)) {
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                size += read;
+                if (size > maxSize) {
+                    throw new BadRequestException(String.format(ErrorMessage.JOB_INPUT_TOO_LARGE, this.jobProperties.getMaxInputSize()));
+                }
+                output.write(buffer, 0, read);
+            }
+        } catch (BadRequestException | IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        if (size == 0) {
+            Files.deleteIfExists(path);
+            throw new BadRequestException(String.format(ErrorMessage.JOB_INPUT_REQUIRED, type));
+        }
+    }
+
+    private void deleteFiles(Job job) {
+        try {
+            Files.deleteIfExists(inputPath(job.getId()));
+            Files.deleteIfExists(resultPath(job.getId(), job.getType()));
+        } catch (IOException e) {
+            log.warn("Could not delete the files of job with ID: {}: {}", job.getId(), e.getMessage());
+        }
+    }
+}
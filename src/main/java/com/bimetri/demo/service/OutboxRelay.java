@@ -0,0 +1,63 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.outbox.OutboxProperties;
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.config.tenancy.Tenants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxService outboxService;
+    private final OutboxProperties outboxProperties;
+    private final Tenants tenants;
+
+    /**
+     * Delivers the events recorded since the last run, one batch per transaction, until none are left.
+     * <p>
+     * Every instance runs this schedule for every tenant, but only one relays a tenant's events at a time. When the
+     * sink fails, the tenant's run stops and the failed batch is retried on the next run, so later events never
+     * overtake it.
+     */
+    @Scheduled(fixedDelayString = "${bimetri.outbox.relay-interval:PT1S}")
+    public void relay() {
+        this.tenants.forEach(tenant -> relayTenant());
+    }
+
+    /**
+     * Deletes the published events that are past the retention period.
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1M")
+    public void purge() {
+        this.tenants.forEach(tenant -> {
+            int deleted = this.outboxService.purge();
+            if (deleted > 0) {
+                log.info("Deleted {} published outbox event(s) of tenant {} older than {}.", deleted, tenant, this.outboxProperties.getRetention());
+            }
+        });
+    }
+
+    private void relayTenant() {
+        long events = 0;
+        int relayed;
+        try {
+            do {
+                relayed = this.outboxService.relayBatch();
+                events += relayed;
+            } while (relayed == this.outboxProperties.getBatchSize());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not deliver outbox events of tenant {} to the {} sink, retrying in {}: {}", TenantContext.getTenant(),
+                    this.outboxProperties.getSink(), this.outboxProperties.getRelayInterval(), ex.getMessage());
+        }
+
+        if (events > 0) {
+            log.debug("Relayed {} outbox event(s) of tenant {}.", events, TenantContext.getTenant());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.outbox.OutboxProperties;
+import com.bimetri.demo.config.outbox.OutboxSink;
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.bimetri.demo.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxService {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink outboxSink;
+    private final OutboxProperties outboxProperties;
+
+    /**
+     * Delivers the oldest unpublished events to the sink and marks them published.
+     * <p>
+     * Only one instance relays the current tenant's events at a time, under a transaction-level advisory lock, and
+     * events are delivered in ID order, so the events of an aggregate reach the sink in the order their changes were
+     * committed. Events of other tenants than the default one carry the tenant. The events are marked published in
+     * the same transaction once the sink accepted them; if the sink fails, nothing is marked and the whole batch is
+     * delivered again on the next run.
+     *
+     * @return The number of delivered events, 0 if there were none or another instance is relaying.
+     * @throws IOException if the sink could not deliver the batch.
+     */
+    @Transactional
+    public int relayBatch() throws IOException {
+        if (!this.outboxRepository.tryLockRelay()) {
+            return 0;
+        }
+
+        List<OutboxEventDto> events = this.outboxRepository.findUnpublished(this.outboxProperties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        if (!TenantContext.isDefault()) {
+            events.forEach(event -> event.setTenant(TenantContext.getTenant()));
+        }
+        this.outboxSink.publish(events);
+        this.outboxRepository.markPublished(events.stream().map(OutboxEventDto::getId).toList());
+
+        return events.size();
+    }
+
+    /**
+     * Retrieves the published events after the given position, so consumers can catch up or replay from their last
+     * seen event as long as it is within the retention period. Positions follow the order in which the relay published
+     * the events, so a consumer continuing from the last position it saw never skips an event committed late.
+     *
+     * @param afterPosition Only events with a greater position are returned; 0 starts from the oldest retained event.
+     * @param limit         The maximum number of events to return, between 1 and {@value #MAX_PAGE_SIZE}.
+     * @return The events, in position order.
+     * @throws BadRequestException if the limit is out of range.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxEventDto> findEvents(long afterPosition, int limit) {
+        log.info("Fetching outbox events after position: {}", afterPosition);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException(String.format(ErrorMessage.OUT_OF_RANGE, "limit", 1, MAX_PAGE_SIZE));
+        }
+
+        return this.outboxRepository.findAfter(afterPosition, limit);
+    }
+
+    /**
+     * Delivers the retained events from the given ID on to the sink again, in ID order, on the next relay runs. They
+     * are given new positions when published again, so consumers of the events endpoint read them once more.
+     *
+     * @param fromId The ID of the first event to deliver again.
+     * @return The number of events that will be delivered again.
+     */
+    @Transactional
+    public int replay(long fromId) {
+        log.info("Replaying outbox events from ID: {}", fromId);
+
+        return this.outboxRepository.markUnpublishedFrom(fromId);
+    }
+
+    /**
+     * Deletes the events published longer ago than the retention period.
+     *
+     * @return The number of deleted events.
+     */
+    @Transactional
+    public int purge() {
+        return this.outboxRepository.deletePublishedBefore(this.outboxProperties.getRetention());
+    }
+}
@@ -1,26 +1,34 @@
 package com.bimetri.demo.service;
 
-import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
 import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.bimetri.demo.dto.request.SearchRequestDto;
+import com.bimetri.demo.dto.request.StudentQueryDto;
 import com.bimetri.demo.dto.request.StudentRequestDto;
+import com.bimetri.demo.dto.response.SearchResponseDto;
 import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
 import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.BusinessException;
 import com.bimetri.demo.exception.ConflictException;
 import com.bimetri.demo.exception.ResourceNotFoundException;
 import com.bimetri.demo.exception.message.ErrorMessage;
 import com.bimetri.demo.mapper.StudentMapper;
 import com.bimetri.demo.repository.CourseRepository;
+import com.bimetri.demo.repository.OutboxRepository;
 import com.bimetri.demo.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-
-import static com.bimetri.demo.dto.enums.ResponseEnum.STUDENT;
 
 @Service
 @Slf4j
@@ -28,61 +36,94 @@ import static com.bimetri.demo.dto.enums.ResponseEnum.STUDENT;
 public class StudentService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final OutboxRepository outboxRepository;
+    private final TermService termService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves all students from the database.
      * <p>
-     * This method fetches all students stored in the database and maps them to their corresponding Data Transfer Objects (DTOs).
-     * It then returns a list of StudentResponseDto containing the information of all retrieved students.
+     * This method selects all students stored in the database directly into their corresponding Data Transfer Objects (DTOs),
+     * without loading managed Student entities. It then returns a list of StudentResponseDto containing the information
+     * of all retrieved students.
      *
      * @return A list of StudentResponseDto containing information about all students.
      */
+    @Transactional(readOnly = true)
     public List<StudentResponseDto> getAll() {
         log.info("Fetching all student from the database.");
 
-        List<Student> students = this.studentRepository.findAll();
+        return this.studentRepository.findAllAsResponse();
+    }
+
+    /**
+     * Retrieves the students matching the given query.
+     * <p>
+     * This method filters students by name, surname or school number, sorts them by the requested fields and selects only the fields
+     * requested with {@code fields=}, so the database reads and the response carries only those columns. Without any
+     * filter, sort or field selection it returns the same list as {@link #getAll()}.
+     *
+     * @param studentQueryDto The StudentQueryDto object containing the filters, the fields to return and the sort order.
+     * @return A list of StudentResponseDto objects with only the requested fields set.
+     * @throws BadRequestException if a requested field or sort field does not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentResponseDto> getAll(StudentQueryDto studentQueryDto) {
+        if (!studentQueryDto.isRestricted()) {
+            return getAll();
+        }
+
+        log.info("Fetching students matching the query from the database.");
 
-        return StudentMapper.toDTOList(students);
+        return this.studentRepository.findAllAsResponse(studentQueryDto);
+    }
+
+    /**
+     * Searches students by name, surname or school number.
+     * <p>
+     * This method matches the query against the name, surname and school number of every student using trigram word
+     * similarity, so partial and slightly misspelled queries also match. Matches are returned closest first, ties
+     * ordered by ID. When the page is full, the response carries a cursor that continues the search after its last
+     * match.
+     *
+     * @param searchRequestDto The SearchRequestDto object containing the query, the page size and the cursor to continue from.
+     * @return A SearchResponseDto containing the matching students and the cursor of the next page, if any.
+     */
+    @Transactional(readOnly = true)
+    public SearchResponseDto<StudentResponseDto> search(SearchRequestDto searchRequestDto) {
+        log.info("Searching students for: {}", searchRequestDto.getQuery());
+
+        List<StudentRepository.SearchMatch> matches = this.studentRepository.search(searchRequestDto.getQuery().trim(),
+                searchRequestDto.getAfterDistance(), searchRequestDto.getAfterId(), searchRequestDto.getLimit());
+        List<StudentResponseDto> results = matches.stream()
+                .map(match -> new StudentResponseDto(match.getId(), match.getName(), match.getSurname(), match.getSchoolNumber()))
+                .toList();
+
+        String next = null;
+        if (matches.size() == searchRequestDto.getLimit()) {
+            StudentRepository.SearchMatch last = matches.get(matches.size() - 1);
+            next = SearchRequestDto.cursor(last.getDistance(), last.getId());
+        }
+
+        return new SearchResponseDto<>(results, next);
     }
 
     /**
      * Retrieves a list of all students along with their associated courses.
      * <p>
-     * This method queries the database to fetch all students and their respective courses. It constructs
-     * a list of {@link StudentAndCoursesResponseDto} objects, where each object contains information
+     * This method fetches all students and their respective courses with a single grouped query that selects
+     * directly into {@link StudentAndCoursesResponseDto} objects, where each object contains information
      * about a student, including their ID, name, surname, and school number, along with a comma-separated
-     * string of course names the student is enrolled in.
+     * string of course names the student is enrolled in during the active term.
      *
      * @return A list of {@link StudentAndCoursesResponseDto} objects representing each student along with
      * their associated courses.
      */
+    @Transactional(readOnly = true)
     public List<StudentAndCoursesResponseDto> getStudentAndCoursesList() {
         log.info("Fetching all students and all student courses from the database.");
 
-        List<Student> students = this.studentRepository.findAll();
-
-        List<StudentAndCoursesResponseDto> studentAndCoursesList = new ArrayList<>();
-
-        for (Student student : students) {
-            StudentAndCoursesResponseDto studentAndCoursesResponseDto = new StudentAndCoursesResponseDto();
-            studentAndCoursesResponseDto.setId(student.getId());
-            studentAndCoursesResponseDto.setName(student.getName());
-            studentAndCoursesResponseDto.setSurname(student.getSurname());
-            studentAndCoursesResponseDto.setSchoolNumber(Long.valueOf(student.getSchoolNumber()));
-
-            List<String> courseNames = new ArrayList<>();
-            for (Course course : student.getCourses()) {
-                courseNames.add(course.getName());
-            }
-
-            String coursesAsString = String.join(", ", courseNames);
-
-            studentAndCoursesResponseDto.setCourses(coursesAsString);
-
-            studentAndCoursesList.add(studentAndCoursesResponseDto);
-        }
-
-        return studentAndCoursesList;
+        return this.studentRepository.findAllWithCourseNames(this.termService.getActiveTerm());
     }
 
     /**
@@ -92,11 +133,12 @@ public class StudentService {
      * It first checks if a student with the same school number already exists in the database. If a student with
      * the same school number is found, a ConflictException is thrown to indicate the duplication. Otherwise,
      * the method proceeds to save the new student by converting the StudentRequestDto object to an entity using
-     * the StudentMapper and then persisting it into the database.
+     * the StudentMapper and then persisting it into the database, together with a CREATED event in the outbox.
      *
      * @param studentRequestDto The StudentRequestDto object containing the information of the student to be created
      * @throws ConflictException Thrown if a student with the same school number already exists in the database
      */
+    @Transactional
     public void create(StudentRequestDto studentRequestDto) {
         log.info("Creating a new student.");
 
@@ -104,49 +146,62 @@ public class StudentService {
             throw new ConflictException(String.format(ErrorMessage.DUPLICATE_SCHOOL_NUMBER, studentRequestDto.getSchoolNumber()));
         }
 
-        this.studentRepository.save(StudentMapper.toEntity(studentRequestDto));
+        Student student = this.studentRepository.save(StudentMapper.toEntity(studentRequestDto));
+        this.outboxRepository.append(AggregateType.STUDENT, student.getId(), ChangeType.CREATED, StudentMapper.toDTO(student));
     }
 
     /**
      * Updates an existing student.
      * <p>
-     * This method updates the information of an existing student in the database with the provided ID.
-     * It retrieves the student entity by the given ID, updates its information based on the fields in
-     * the StudentRequestDto object, and then saves the updated entity back to the database.
+     * This method updates the information of an existing student in the database with the provided ID, in a single
+     * UPDATE statement without loading the student first. When the StudentRequestDto carries the version the client
+     * last read, the update only applies if the student is still at that version, so a concurrent edit is reported as
+     * a conflict instead of being overwritten. Every update increments the version.
      *
      * @param id                The ID of the student to be updated.
      * @param studentRequestDto The StudentRequestDto containing the updated information for the student.
      * @throws ResourceNotFoundException if no student with the specified ID is found in the database.
+     * @throws ConflictException         if another student already has the requested school number, or the student is
+     *                                   no longer at the version given in the StudentRequestDto.
      */
+    @Transactional
     public void update(Long id, StudentRequestDto studentRequestDto) {
         log.info("Updating student with ID: {}", id);
 
-        Student studentToUpdate = this.studentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
+        if (this.studentRepository.existsBySchoolNumberAndIdNot(studentRequestDto.getSchoolNumber(), id)) {
+            throw new ConflictException(String.format(ErrorMessage.DUPLICATE_SCHOOL_NUMBER, studentRequestDto.getSchoolNumber()));
+        }
 
-        studentToUpdate.setName(studentRequestDto.getName());
-        studentToUpdate.setSurname(studentRequestDto.getSurname());
-        studentToUpdate.setSchoolNumber(studentRequestDto.getSchoolNumber());
+        Long version = this.studentRepository.updateIfVersion(id, studentRequestDto.getVersion(), studentRequestDto.getName(), studentRequestDto.getSurname(),
+                        studentRequestDto.getSchoolNumber())
+                .orElseThrow(() -> versionConflict(id));
 
-        this.studentRepository.save(studentToUpdate);
+        this.outboxRepository.append(AggregateType.STUDENT, id, ChangeType.UPDATED,
+                new StudentResponseDto(id, studentRequestDto.getName(), studentRequestDto.getSurname(), studentRequestDto.getSchoolNumber(), version));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSE_ROSTERS));
     }
 
     /**
      * Deletes a student by ID.
      * <p>
-     * This method deletes a student from the database based on the provided ID.
-     * It retrieves the student entity by the given ID and then deletes it from the database.
+     * This method deletes a student from the database based on the provided ID, in a single DELETE statement without
+     * loading the student first. Students who are enrolled in a course cannot be deleted.
      *
      * @param id The ID of the student to be deleted.
      * @throws ResourceNotFoundException if no student with the specified ID is found in the database.
+     * @throws IllegalStateException     if the student is enrolled in one or more courses.
      */
+    @Transactional
     public void deleteById(Long id) throws ResourceNotFoundException {
         log.info("Deleting student with ID: {}", id);
 
-        Student student = this.studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
-
         try {
-            this.studentRepository.deleteById(student.getId());
+            if (this.studentRepository.deleteRowById(id) == 0) {
+                throw new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id));
+            }
+
+            this.outboxRepository.append(AggregateType.STUDENT, id, ChangeType.DELETED, new StudentResponseDto(id, null, null, null));
+            this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.STUDENT_COURSES, id));
         } catch (DataIntegrityViolationException ex) {
             log.error("Could not delete student due to database integrity violation: {}", ex.getMessage());
 
@@ -156,44 +211,53 @@ public class StudentService {
 
 
     /**
-     * Retrieves students who are not enrolled in any courses.
+     * Retrieves students who are not enrolled in any courses of the active term.
      * <p>
      * This method retrieves a list of students who are not enrolled in any courses from the database.
-     * It queries the student repository to find students whose courses list is empty or null,
-     * and then maps the resulting list of student entities to a list of StudentResponseDto objects.
+     * It queries the student repository for students whose courses list is empty and selects them
+     * directly into a list of StudentResponseDto objects.
      *
      * @return A list of StudentResponseDto objects representing students not enrolled in any courses.
      */
+    @Transactional(readOnly = true)
     public List<StudentResponseDto> findStudentsByCoursesIsNull() {
         log.info("Fetching courses student not found!");
 
-        return StudentMapper.toDTOList(this.studentRepository.findByCoursesIsNull());
+        return this.studentRepository.findByCoursesIsNullAsResponse(this.termService.getActiveTerm());
     }
 
     /**
      * Retrieves students enrolled in a specific course.
      * <p>
      * This method retrieves a list of students who are enrolled in the course identified by the given courseId.
-     * It queries the course repository to find the course by its ID, and then retrieves the list of students
-     * associated with that course. If the course is found and contains students, it maps the list of student entities
-     * to a list of StudentResponseDto objects.
+     * It selects the students associated with that course directly into a list of StudentResponseDto objects, and
+     * only when there are none checks whether the course exists, to report which of the two is missing. Found
+     * students are cached until the course's enrollments or any student change on any instance.
      *
      * @param courseId The ID of the course to retrieve students from.
      * @return A list of StudentResponseDto objects representing students enrolled in the specified course.
      * @throws ResourceNotFoundException if the course with the given ID is not found or if no students are enrolled in the course.
      */
+    @Cacheable(cacheNames = CacheNames.COURSE_ROSTERS, key = "#p0")
+    @Transactional(readOnly = true)
     public List<StudentResponseDto> findCoursesStudent(long courseId) {
         log.info("Fetching course with student.");
-        Optional<Course> course = this.courseRepository.findById(courseId);
-
-        if (course.isPresent()) {
-            List<Student> students = course.get().getStudents();
-            if (students == null || students.isEmpty()) {
-                throw new ResourceNotFoundException(String.format(ErrorMessage.NOT_FOUND_MESSAGE, STUDENT));
+        List<StudentResponseDto> students = this.studentRepository.findByCourseIdAsResponse(courseId);
+        if (students.isEmpty()) {
+            if (!this.courseRepository.existsById(courseId)) {
+                throw new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, courseId));
             }
-            return StudentMapper.toDTOList(students);
-        } else {
-            throw new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, courseId));
+            throw new ResourceNotFoundException(ErrorMessage.STUDENTS_NOT_FOUND);
         }
+
+        return students;
+    }
+
+    /**
+     * Explains why a conditional update of the student matched no row: the student is at another version, or is gone.
+     */
+    private BusinessException versionConflict(Long id) {
+        return this.studentRepository.findVersionById(id).<BusinessException>map(version -> new ConflictException(String.format(ErrorMessage.VERSION_CONFLICT, id, version)))
+                .orElseGet(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, id)));
     }
 }
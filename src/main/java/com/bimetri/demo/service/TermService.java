@@ -0,0 +1,127 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.TermProperties;
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
+import com.bimetri.demo.domain.Term;
+import com.bimetri.demo.dto.response.TermResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.ConflictException;
+import com.bimetri.demo.exception.ResourceNotFoundException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.bimetri.demo.repository.EnrollmentPartitionRepository;
+import com.bimetri.demo.repository.TermRepository;
+import com.bimetri.demo.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TermService {
+    private final TermRepository termRepository;
+    private final EnrollmentPartitionRepository enrollmentPartitionRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final TermProperties termProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return The term new courses and the enrollment listings default to.
+     */
+    public String getActiveTerm() {
+        return this.termProperties.getActive();
+    }
+
+    /**
+     * Retrieves all terms, open and archived, in name order.
+     *
+     * @return A list of TermResponseDto objects, the active term flagged.
+     */
+    @Transactional(readOnly = true)
+    public List<TermResponseDto> getAll() {
+        log.info("Fetching all terms from the database.");
+
+        return this.termRepository.findAllByOrderByTermAsc().stream()
+                .map(term -> new TermResponseDto(term.getTerm(), term.getTerm().equals(getActiveTerm()), term.getOpenedAt(), term.getArchivedAt()))
+                .toList();
+    }
+
+    /**
+     * Checks that courses can be created in and students enrolled into the term.
+     *
+     * @param term The term to check.
+     * @throws ConflictException If the term does not exist or has been archived.
+     */
+    public void requireOpen(String term) {
+        if (!this.termRepository.isOpen(term)) {
+            throw new ConflictException(String.format(ErrorMessage.TERM_NOT_OPEN, term));
+        }
+    }
+
+    /**
+     * Opens a new term, creating the course_student partition its enrollments are stored in.
+     *
+     * @param term The name of the term, such as 2027-SPRING.
+     * @throws BadRequestException If the term does not match {@link Term#PATTERN}.
+     * @throws ConflictException   If the term already exists, open or archived.
+     */
+    @Transactional
+    public void open(String term) {
+        log.info("Opening term: {}", term);
+
+        // The term names the partition and its bound in DDL, so only the documented format gets that far.
+        if (!term.matches(Term.PATTERN)) {
+            throw new BadRequestException(String.format(ErrorMessage.TERM_FORMAT, term));
+        }
+        if (this.termRepository.existsById(term)) {
+            throw new ConflictException(String.format(ErrorMessage.TERM_EXISTS, term));
+        }
+
+        this.termRepository.save(new Term(term));
+        this.enrollmentPartitionRepository.createPartition(term);
+    }
+
+    /**
+     * Archives a term.
+     * <p>
+     * This method detaches the term's partition from course_student and moves it to the archive schema, so its
+     * enrollments stay available for reporting but are no longer listed, counted or scanned by the queries of the
+     * open terms. The courses of the term remain; their waitlists are removed and nobody can be enrolled into them
+     * anymore. Detaching waits for the running enrollments to commit and blocks new ones until this transaction
+     * commits, which then see the term archived.
+     *
+     * @param term The name of the term to archive.
+     * @return The number of enrollments archived.
+     * @throws ResourceNotFoundException If the term does not exist.
+     * @throws ConflictException         If the term is the active term or is already archived.
+     */
+    @Transactional
+    public long archive(String term) {
+        log.info("Archiving term: {}", term);
+
+        Term archived = this.termRepository.findById(term)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE, term)));
+        if (term.equals(getActiveTerm())) {
+            throw new ConflictException(String.format(ErrorMessage.TERM_ACTIVE, term));
+        }
+        if (!archived.isOpen()) {
+            throw new ConflictException(String.format(ErrorMessage.TERM_NOT_OPEN, term));
+        }
+
+        // Detach first: once it holds its lock, no enrollment or promotion of the term can touch the waitlist.
+        long enrollments = this.enrollmentPartitionRepository.archivePartition(term);
+        this.waitlistRepository.deleteByCourseTerm(term);
+        archived.setArchivedAt(OffsetDateTime.now());
+
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.COURSE_ROSTERS));
+        this.eventPublisher.publishEvent(EntityChangedEvent.all(CacheNames.STUDENT_COURSES));
+        log.info("Archived {} enrollments of term: {}", enrollments, term);
+        return enrollments;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.tenancy.TenantContext;
+import com.bimetri.demo.config.tenancy.Tenants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WaitlistPromoter {
+    private final WaitlistService waitlistService;
+    private final Tenants tenants;
+
+    /**
+     * Enrolls waiting students into the seats freed since the last run.
+     * <p>
+     * Every instance runs this schedule, for every tenant. Courses are visited in ID order, each in its own short
+     * transaction, so a course is locked only while its own seats are filled and instances running concurrently share
+     * the courses between them.
+     */
+    @Scheduled(fixedDelayString = "${bimetri.waitlist.promotion-interval:PT1S}")
+    public void promote() {
+        this.tenants.forEach(tenant -> promoteTenant());
+    }
+
+    private void promoteTenant() {
+        long afterCourseId = 0;
+        int courses = 0;
+        Optional<Long> claimed;
+        while ((claimed = this.waitlistService.promoteNextCourse(afterCourseId)).isPresent()) {
+            afterCourseId = claimed.get();
+            courses++;
+        }
+
+        if (courses > 0) {
+            log.debug("Promoted waiting students in {} course(s) of tenant {}.", courses, TenantContext.getTenant());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
+import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.domain.WaitlistEntry;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.bimetri.demo.dto.response.EnrollmentChangeDto;
+import com.bimetri.demo.dto.response.WaitlistPositionDto;
+import com.bimetri.demo.exception.ResourceNotFoundException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import com.bimetri.demo.repository.CourseRepository;
+import com.bimetri.demo.repository.OutboxRepository;
+import com.bimetri.demo.repository.StudentRepository;
+import com.bimetri.demo.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class WaitlistService {
+    private final WaitlistRepository waitlistRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Retrieves the waitlist position of a student.
+     * <p>
+     * The position is the number of entries of the course up to and including the student's own, counted on the
+     * waitlist index without reading the entries themselves. Position 1 is the next student to be enrolled.
+     *
+     * @param courseId  The ID of the course the student is waiting for.
+     * @param studentId The ID of the waiting student.
+     * @return A WaitlistPositionDto with the position of the student and the time the student joined the waitlist.
+     * @throws ResourceNotFoundException if the student is not on the waitlist of the course.
+     */
+    @Transactional(readOnly = true)
+    public WaitlistPositionDto getPosition(Long courseId, Long studentId) {
+        log.info("Fetching waitlist position of Student ID: {} for Course ID: {}", studentId, courseId);
+
+        WaitlistEntry entry = this.waitlistRepository.findByCourseIdAndStudentId(courseId, studentId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessage.NOT_WAITLISTED));
+        long position = this.waitlistRepository.countByCourseIdAndIdLessThanEqual(courseId, entry.getId());
+
+        return new WaitlistPositionDto(courseId, studentId, position, entry.getCreatedAt());
+    }
+
+    /**
+     * Removes a student from the waitlist of a course.
+     *
+     * @param courseId  The ID of the course the student is waiting for.
+     * @param studentId The ID of the waiting student.
+     * @throws ResourceNotFoundException if the student is not on the waitlist of the course.
+     */
+    @Transactional
+    public void leave(Long courseId, Long studentId) {
+        log.info("Removing Student ID: {} from the waitlist of Course ID: {}", studentId, courseId);
+
+        if (this.waitlistRepository.deleteByCourseIdAndStudentId(courseId, studentId) == 0) {
+            throw new ResourceNotFoundException(ErrorMessage.NOT_WAITLISTED);
+        }
+    }
+
+    /**
+     * Fills the free seats of the next course with a waitlist, in waitlist order.
+     * <p>
+     * The course is claimed with {@code FOR NO KEY UPDATE SKIP LOCKED}, so concurrent promoters on other instances
+     * each take a different course and never wait for a course that is being enrolled into. Waiting students who
+     * have meanwhile reached the maximum number of courses in the course's term are dropped from the waitlist. When
+     * the student at the head of the queue is locked by one of their own enrollments, the course is left for the next
+     * run rather than enrolling someone further back.
+     *
+     * @param afterCourseId Only courses with a greater ID are considered.
+     * @return The ID of the course that was claimed, or empty if no course after afterCourseId has both free seats and
+     * waiting students.
+     */
+    @Transactional
+    public Optional<Long> promoteNextCourse(long afterCourseId) {
+        Optional<Long> claimed = this.courseRepository.lockNextWithWaitlistAndFreeSeats(afterCourseId, Course.MAX_STUDENTS);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+
+        Long courseId = claimed.get();
+        String term = this.courseRepository.findTermById(courseId);
+        long freeSeats = Course.MAX_STUDENTS - this.courseRepository.countStudents(courseId);
+        while (freeSeats > 0) {
+            Optional<WaitlistEntry> head = this.waitlistRepository.findFirstByCourseIdOrderByIdAsc(courseId);
+            if (head.isEmpty()) {
+                break;
+            }
+
+            Long studentId = head.get().getStudentId();
+            if (this.studentRepository.tryLockById(studentId).isEmpty()) {
+                log.debug("Student ID: {} is busy, retrying the waitlist of Course ID: {} later.", studentId, courseId);
+                break;
+            }
+
+            this.waitlistRepository.delete(head.get());
+            if (this.studentRepository.countCourses(studentId, term) >= Student.MAX_COURSES) {
+                log.info("Dropped Student ID: {} from the waitlist of Course ID: {}, the student has reached the maximum number of courses.", studentId, courseId);
+                continue;
+            }
+
+            this.courseRepository.enroll(courseId, studentId);
+            this.outboxRepository.append(AggregateType.COURSE, courseId, ChangeType.ENROLLED, new EnrollmentChangeDto(courseId, studentId));
+            this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, courseId));
+            this.eventPublisher.publishEvent(EntityChangedEvent.of(CacheNames.STUDENT_COURSES, studentId));
+            freeSeats--;
+            log.info("Enrolled Student ID: {} to Course ID: {} from its waitlist.", studentId, courseId);
+        }
+
+        return claimed;
+    }
+}
@@ -0,0 +1,61 @@
+package com.bimetri.demo.service.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes single CSV lines as described in RFC 4180, without line breaks inside fields.
+ */
+final class Csv {
+    private Csv() {
+    }
+
+    static String line(Object... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(escape(fields[i] == null ? "" : fields[i].toString()));
+        }
+
+        return line.append('\n').toString();
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private static String escape(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
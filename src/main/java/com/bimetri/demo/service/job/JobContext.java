@@ -0,0 +1,65 @@
+package com.bimetri.demo.service.job;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The state of a running job shared between its handler and the JobRunner, which reports the progress and passes on
+ * cancellations once per poll interval.
+ */
+@Getter
+public class JobContext {
+    /**
+     * The tenant the job was submitted by, whose data and files it works on.
+     */
+    private final String tenant;
+    private final long jobId;
+    /**
+     * The uploaded input, for job types that take one.
+     */
+    private final Path input;
+    /**
+     * Where the handler writes the result.
+     */
+    private final Path result;
+    private final AtomicLong processed = new AtomicLong();
+    private volatile Long total;
+    private volatile boolean cancelled;
+
+    public JobContext(String tenant, long jobId, Path input, Path result) {
+        this.tenant = tenant;
+        this.jobId = jobId;
+        this.input = input;
+        this.result = result;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getProcessed() {
+        return this.processed.get();
+    }
+
+    /**
+     * Records processed items, and stops the job if it was cancelled.
+     *
+     * @throws CancellationException if the job was cancelled.
+     */
+    public void advance(long items) {
+        this.processed.addAndGet(items);
+        if (this.cancelled) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Makes the next {@link #advance(long)} stop the job.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bimetri.demo.service.job;
+
+import com.bimetri.demo.dto.enums.JobType;
+
+import java.io.IOException;
+
+/**
+ * Runs the jobs of one type. Handlers are Spring beans, picked up by the JobRunner.
+ * <p>
+ * A job may be run again from the start when its instance stops while running it, so handlers must be safe to rerun.
+ */
+public interface JobHandler {
+    JobType getType();
+
+    /**
+     * Runs a job, writing its result to {@link JobContext#getResult()} and reporting its progress with
+     * {@link JobContext#advance(long)}, which also stops the job when it is cancelled.
+     *
+     * @param context The job to run.
+     * @throws IOException if the input could not be read or the result could not be written.
+     */
+    void run(JobContext context) throws IOException;
+}
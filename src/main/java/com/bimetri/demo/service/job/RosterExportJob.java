@@ -0,0 +1,47 @@
+package com.bimetri.demo.service.job;
+
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.dto.response.RosterEntryDto;
+import com.bimetri.demo.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class RosterExportJob implements JobHandler {
+    private final CourseRepository courseRepository;
+
+    @Override
+    public JobType getType() {
+        return JobType.ROSTER_EXPORT;
+    }
+
+    /**
+     * Writes every enrollment of the open terms as a CSV line, streaming the rows from a single read-only transaction so the export is
+     * a consistent snapshot and never holds more than one fetch of rows in memory.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void run(JobContext context) throws IOException {
+        context.setTotal(this.courseRepository.countEnrollments());
+
+        try (Stream<RosterEntryDto> roster = this.courseRepository.streamRoster();
+             Writer writer = Files.newBufferedWriter(context.getResult())) {
+            writer.write(Csv.line("course_id", "course_name", "student_id", "name", "surname", "school_number"));
+
+            Iterator<RosterEntryDto> entries = roster.iterator();
+            while (entries.hasNext()) {
+                RosterEntryDto entry = entries.next();
+                writer.write(Csv.line(entry.getCourseId(), entry.getCourseName(), entry.getStudentId(), entry.getName(), entry.getSurname(), entry.getSchoolNumber()));
+                context.advance(1);
+            }
+        }
+    }
+}
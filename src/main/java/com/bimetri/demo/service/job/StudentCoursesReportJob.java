@@ -0,0 +1,57 @@
+package com.bimetri.demo.service.job;
+
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
+import com.bimetri.demo.repository.StudentRepository;
+import com.bimetri.demo.service.TermService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class StudentCoursesReportJob implements JobHandler {
+    private final StudentRepository studentRepository;
+    private final TermService termService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public JobType getType() {
+        return JobType.STUDENT_COURSES_REPORT;
+    }
+
+    /**
+     * Writes the student and courses report of the active term as a JSON array, streaming the rows from a single read-only transaction
+     * instead of building the whole list in memory as GET /students/student-and-courses does.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void run(JobContext context) throws IOException {
+        context.setTotal(this.studentRepository.count());
+
+        try (Stream<StudentAndCoursesResponseDto> report = this.studentRepository.streamAllWithCourseNames(this.termService.getActiveTerm());
+             OutputStream output = Files.newOutputStream(context.getResult());
+             JsonGenerator generator = this.objectMapper.getFactory().createGenerator(output)) {
+            ObjectWriter writer = this.objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            generator.writeStartArray();
+
+            Iterator<StudentAndCoursesResponseDto> rows = report.iterator();
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                context.advance(1);
+            }
+
+            generator.writeEndArray();
+        }
+    }
+}
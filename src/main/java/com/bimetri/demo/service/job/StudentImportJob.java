@@ -0,0 +1,135 @@
+package com.bimetri.demo.service.job;
+
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.dto.request.StudentRequestDto;
+import com.bimetri.demo.repository.StudentImportRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class StudentImportJob implements JobHandler {
+    static final int CHUNK_SIZE = 1000;
+    private static final String HEADER = "name";
+
+    private final StudentImportRepository studentImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Override
+    public JobType getType() {
+        return JobType.STUDENT_IMPORT;
+    }
+
+    /**
+     * Creates the students of a CSV of name, surname and school number, with an optional header line.
+     * <p>
+     * Rows are validated like the body of POST /students and inserted CHUNK_SIZE at a time, each chunk in its own
+     * transaction, so a cancelled or failed import keeps the chunks before it. Rows whose school number is already
+     * taken are skipped, which also makes a rerun skip the rows imported by the previous run. The result has one line
+     * per row: IMPORTED, DUPLICATE or INVALID with the validation messages.
+     */
+    @Override
+    public void run(JobContext context) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(context.getInput())) {
+            long rows = 0;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isRow(++lineNumber, line)) {
+                    rows++;
+                }
+            }
+            context.setTotal(rows);
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(context.getInput());
+             Writer writer = Files.newBufferedWriter(context.getResult())) {
+            writer.write(Csv.line("line", "school_number", "result", "message"));
+
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!isRow(++lineNumber, line)) {
+                    continue;
+                }
+
+                Row row = parse(lineNumber, line);
+                if (row.error != null) {
+                    writer.write(Csv.line(row.lineNumber, row.student.getSchoolNumber(), "INVALID", row.error));
+                    context.advance(1);
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, writer, context);
+                }
+            }
+            importChunk(chunk, writer, context);
+        }
+    }
+
+    private static boolean isRow(int lineNumber, String line) {
+        return !line.isBlank() && !(lineNumber == 1 && line.regionMatches(true, 0, HEADER, 0, HEADER.length()));
+    }
+
+    private void importChunk(List<Row> chunk, Writer writer, JobContext context) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<StudentRequestDto> students = chunk.stream().map(row -> row.student).toList();
+        Set<Long> imported = this.transactionTemplate.execute(status -> this.studentImportRepository.insertSkippingDuplicates(students));
+
+        for (Row row : chunk) {
+            Long schoolNumber = row.student.getSchoolNumber();
+            if (imported != null && imported.remove(schoolNumber)) {
+                writer.write(Csv.line(row.lineNumber, schoolNumber, "IMPORTED", ""));
+            } else {
+                writer.write(Csv.line(row.lineNumber, schoolNumber, "DUPLICATE", "There is already a record with this school number."));
+            }
+        }
+
+        int rows = chunk.size();
+        chunk.clear();
+        context.advance(rows);
+    }
+
+    private Row parse(int lineNumber, String line) {
+        List<String> fields = Csv.parse(line);
+        StudentRequestDto student = new StudentRequestDto();
+        if (fields.size() != 3) {
+            return new Row(lineNumber, student, "Expected 3 fields: name, surname, school_number.");
+        }
+
+        student.setName(fields.get(0).trim());
+        student.setSurname(fields.get(1).trim());
+        try {
+            student.setSchoolNumber(Long.valueOf(fields.get(2).trim()));
+        } catch (NumberFormatException e) {
+            return new Row(lineNumber, student, "School number must be a number.");
+        }
+
+        Set<ConstraintViolation<StudentRequestDto>> violations = this.validator.validate(student);
+        String error = violations.isEmpty() ? null : violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "));
+
+        return new Row(lineNumber, student, error);
+    }
+
+    private record Row(int lineNumber, StudentRequestDto student, String error) {
+    }
+}
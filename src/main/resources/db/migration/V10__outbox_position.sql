@@ -0,0 +1,17 @@
+-- Outbox positions (OutboxRepository). Event ids are taken from the identity when the row is inserted, so a transaction
+-- that commits late leaves a smaller id behind events already visible, and a consumer paging on ids skips it. The relay
+-- numbers the events from t_outbox_position_seq when it marks them published, under its lock and in the order it sees
+-- them commit, and consumers page on that position instead. Events already published are numbered in id order.
+
+CREATE SEQUENCE IF NOT EXISTS t_outbox_position_seq;
+
+ALTER TABLE t_outbox ADD COLUMN IF NOT EXISTS position BIGINT;
+
+WITH numbered AS (SELECT id, nextval('t_outbox_position_seq') AS position
+                  FROM (SELECT id FROM t_outbox WHERE published_at IS NOT NULL AND position IS NULL ORDER BY id) published)
+UPDATE t_outbox o
+SET position = numbered.position
+FROM numbered
+WHERE o.id = numbered.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_outbox_position ON t_outbox (position);
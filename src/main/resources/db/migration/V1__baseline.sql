@@ -0,0 +1,22 @@
+-- Schema as previously created by Hibernate's ddl-auto. Existing databases are baselined at version 0,
+-- so every statement here must be safe to run against tables that already exist.
+
+CREATE TABLE IF NOT EXISTS t_course
+(
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS t_student
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(50) NOT NULL,
+    surname       VARCHAR(50) NOT NULL,
+    school_number VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS course_student
+(
+    course_id  BIGINT NOT NULL REFERENCES t_course (id),
+    student_id BIGINT NOT NULL REFERENCES t_student (id)
+);
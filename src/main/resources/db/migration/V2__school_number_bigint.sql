@@ -0,0 +1,36 @@
+-- Converts t_student.school_number from VARCHAR(50) to BIGINT with a unique index.
+-- The migration refuses to run while any row is not a valid number or two rows share the same number,
+-- so no data is silently dropped or merged. Fix the reported rows and start the application again.
+
+DO
+$$
+    DECLARE
+        invalid_count   BIGINT;
+        duplicate_count BIGINT;
+    BEGIN
+        SELECT COUNT(*)
+        INTO invalid_count
+        FROM t_student
+        WHERE btrim(school_number::TEXT) !~ '^[0-9]{1,18}$';
+
+        IF invalid_count > 0 THEN
+            RAISE EXCEPTION 'Cannot convert t_student.school_number to BIGINT: % row(s) are not numeric.', invalid_count;
+        END IF;
+
+        SELECT COUNT(*)
+        INTO duplicate_count
+        FROM (SELECT btrim(school_number::TEXT)::BIGINT
+              FROM t_student
+              GROUP BY 1
+              HAVING COUNT(*) > 1) duplicates;
+
+        IF duplicate_count > 0 THEN
+            RAISE EXCEPTION 'Cannot add a unique index on t_student.school_number: % number(s) are used more than once.', duplicate_count;
+        END IF;
+    END
+$$;
+
+ALTER TABLE t_student
+    ALTER COLUMN school_number TYPE BIGINT USING btrim(school_number::TEXT)::BIGINT;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_student_school_number ON t_student (school_number);
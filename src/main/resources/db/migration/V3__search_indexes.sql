@@ -0,0 +1,10 @@
+-- Trigram indexes for the ranked search endpoints (StudentRepository.search and CourseRepository.search).
+-- The student index covers the same expression the query matches on, so name, surname and school number
+-- are searched together. pg_trgm is a trusted extension and can be created by the database owner.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_student_search ON t_student
+    USING gin ((name || ' ' || surname || ' ' || CAST(school_number AS TEXT)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_course_search ON t_course USING gin (name gin_trgm_ops);
@@ -0,0 +1,43 @@
+-- Materialized enrollment counts for the report endpoints (EnrollmentReportRepository). They are only read when
+-- bimetri.reports.materialized is enabled and are refreshed by EnrollmentReportRefresher, which records the time of
+-- the last refresh in t_report_refresh. The unique indexes allow REFRESH MATERIALIZED VIEW CONCURRENTLY.
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS mv_course_enrollment AS
+SELECT c.id AS course_id, COUNT(cs.student_id) AS enrolled
+FROM t_course c
+         LEFT JOIN course_student cs ON cs.course_id = c.id
+GROUP BY c.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_mv_course_enrollment ON mv_course_enrollment (course_id);
+CREATE INDEX IF NOT EXISTS ix_mv_course_enrollment_enrolled ON mv_course_enrollment (enrolled);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS mv_student_enrollment AS
+SELECT s.id AS student_id, COUNT(cs.course_id) AS enrolled
+FROM t_student s
+         LEFT JOIN course_student cs ON cs.student_id = s.id
+GROUP BY s.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_mv_student_enrollment ON mv_student_enrollment (student_id);
+CREATE INDEX IF NOT EXISTS ix_mv_student_enrollment_enrolled ON mv_student_enrollment (enrolled);
+
+-- Both histograms of the summary report, so it reads a few rows instead of grouping every student.
+CREATE MATERIALIZED VIEW IF NOT EXISTS mv_enrollment_histogram AS
+SELECT 'course' AS kind, enrolled AS enrollments, COUNT(*) AS count
+FROM mv_course_enrollment
+GROUP BY enrolled
+UNION ALL
+SELECT 'student' AS kind, enrolled AS enrollments, COUNT(*) AS count
+FROM mv_student_enrollment
+GROUP BY enrolled;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_mv_enrollment_histogram ON mv_enrollment_histogram (kind, enrollments);
+
+CREATE TABLE IF NOT EXISTS t_report_refresh
+(
+    name         VARCHAR(50) PRIMARY KEY,
+    refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO t_report_refresh (name, refreshed_at)
+VALUES ('enrollment', now())
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,19 @@
+-- Per-course waitlist for full courses (CourseService.enrollStudentToCourse). Entries are served in id order, which is
+-- the order they were inserted in because enrollments of a course are serialized by a lock on its t_course row.
+-- WaitlistPromoter moves the head of the queue into course_student when a seat frees up.
+
+CREATE TABLE IF NOT EXISTS t_waitlist
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_id  BIGINT                   NOT NULL REFERENCES t_course (id) ON DELETE CASCADE,
+    student_id BIGINT                   NOT NULL REFERENCES t_student (id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT ux_waitlist_course_student UNIQUE (course_id, student_id)
+);
+
+-- Head of each queue and waitlist positions, which count the entries of a course up to the student's own.
+CREATE INDEX IF NOT EXISTS ix_waitlist_course_id ON t_waitlist (course_id, id);
+
+-- Seat and course limits are checked by counting a course's students and a student's courses on every enrollment.
+CREATE INDEX IF NOT EXISTS ix_course_student_course_id ON course_student (course_id, student_id);
+CREATE INDEX IF NOT EXISTS ix_course_student_student_id ON course_student (student_id);
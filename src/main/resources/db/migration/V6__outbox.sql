@@ -0,0 +1,20 @@
+-- Transactional outbox (OutboxRepository). Every change to courses, students and enrollments inserts a row here in the
+-- same transaction, and OutboxRelay delivers the rows to the configured sink in id order, marking them published.
+-- Published rows are kept for bimetri.outbox.retention so consumers can replay them.
+
+CREATE TABLE IF NOT EXISTS t_outbox
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(32)              NOT NULL,
+    aggregate_id   BIGINT                   NOT NULL,
+    event_type     VARCHAR(32)              NOT NULL,
+    payload        JSONB                    NOT NULL,
+    created_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    published_at   TIMESTAMP WITH TIME ZONE
+);
+
+-- The relay only reads the unpublished rows, which stay few while it keeps up.
+CREATE INDEX IF NOT EXISTS ix_outbox_unpublished ON t_outbox (id) WHERE published_at IS NULL;
+
+-- Retention cleanup.
+CREATE INDEX IF NOT EXISTS ix_outbox_published_at ON t_outbox (published_at) WHERE published_at IS NOT NULL;
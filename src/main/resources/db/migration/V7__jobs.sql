@@ -0,0 +1,21 @@
+-- Long-running operations submitted to POST /jobs (JobService). Jobs are queued here and claimed by JobRunner on any
+-- instance with FOR UPDATE SKIP LOCKED; a running job's heartbeat is refreshed by the instance running it, and jobs
+-- whose heartbeat stops, because their instance stopped, are queued again.
+
+CREATE TABLE IF NOT EXISTS t_job
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type             VARCHAR(32)              NOT NULL,
+    status           VARCHAR(16)              NOT NULL,
+    processed        BIGINT                   NOT NULL DEFAULT 0,
+    total            BIGINT,
+    cancel_requested BOOLEAN                  NOT NULL DEFAULT FALSE,
+    error            VARCHAR(1000),
+    created_at       TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    started_at       TIMESTAMP WITH TIME ZONE,
+    finished_at      TIMESTAMP WITH TIME ZONE,
+    heartbeat_at     TIMESTAMP WITH TIME ZONE
+);
+
+-- Claiming the next queued job of a type, and finding the running jobs without a heartbeat.
+CREATE INDEX IF NOT EXISTS ix_job_status_type ON t_job (status, type, id);
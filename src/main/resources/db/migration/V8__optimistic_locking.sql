@@ -0,0 +1,5 @@
+-- Row versions for optimistic locking (@Version on Student and Course). Updates are conditional on the version the
+-- client read, so concurrent edits of the same row conflict instead of overwriting each other.
+
+ALTER TABLE t_student ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE t_course ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,78 @@
+-- Terms (TermService). Every course belongs to one term, and enrollments are stored in course_student partitioned by
+-- term, one partition per open term, so enrollment checks and rosters of the active term only read its partition.
+-- Archiving a term detaches its partition into the archive schema. Existing courses are assigned to 2026-FALL, the
+-- default bimetri.terms.active.
+
+CREATE TABLE IF NOT EXISTS t_term
+(
+    term        VARCHAR(16) PRIMARY KEY,
+    opened_at   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    archived_at TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO t_term (term)
+VALUES ('2026-FALL')
+ON CONFLICT (term) DO NOTHING;
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+ALTER TABLE t_course ADD COLUMN IF NOT EXISTS term VARCHAR(16) NOT NULL DEFAULT '2026-FALL' REFERENCES t_term (term);
+ALTER TABLE t_course ALTER COLUMN term DROP DEFAULT;
+CREATE INDEX IF NOT EXISTS ix_course_term ON t_course (term, id);
+
+-- The report views depend on course_student and are recreated unchanged below.
+DROP MATERIALIZED VIEW IF EXISTS mv_enrollment_histogram;
+DROP MATERIALIZED VIEW IF EXISTS mv_course_enrollment;
+DROP MATERIALIZED VIEW IF EXISTS mv_student_enrollment;
+
+CREATE TABLE course_student_partitioned
+(
+    course_id  BIGINT      NOT NULL CONSTRAINT course_student_course_id_fkey REFERENCES t_course (id),
+    student_id BIGINT      NOT NULL CONSTRAINT course_student_student_id_fkey REFERENCES t_student (id),
+    term       VARCHAR(16) NOT NULL,
+    PRIMARY KEY (term, course_id, student_id)
+) PARTITION BY LIST (term);
+
+CREATE TABLE course_student_2026_fall PARTITION OF course_student_partitioned FOR VALUES IN ('2026-FALL');
+
+INSERT INTO course_student_partitioned (course_id, student_id, term)
+SELECT cs.course_id, cs.student_id, c.term
+FROM course_student cs
+         JOIN t_course c ON c.id = cs.course_id
+ON CONFLICT DO NOTHING;
+
+DROP TABLE course_student;
+ALTER TABLE course_student_partitioned RENAME TO course_student;
+ALTER INDEX course_student_partitioned_pkey RENAME TO course_student_pkey;
+
+-- The primary key serves the course lookups; a student's courses in a term are found through this index.
+CREATE INDEX ix_course_student_student_id ON course_student (student_id, term);
+
+CREATE MATERIALIZED VIEW mv_course_enrollment AS
+SELECT c.id AS course_id, COUNT(cs.student_id) AS enrolled
+FROM t_course c
+         LEFT JOIN course_student cs ON cs.course_id = c.id
+GROUP BY c.id;
+
+CREATE UNIQUE INDEX ux_mv_course_enrollment ON mv_course_enrollment (course_id);
+CREATE INDEX ix_mv_course_enrollment_enrolled ON mv_course_enrollment (enrolled);
+
+CREATE MATERIALIZED VIEW mv_student_enrollment AS
+SELECT s.id AS student_id, COUNT(cs.course_id) AS enrolled
+FROM t_student s
+         LEFT JOIN course_student cs ON cs.student_id = s.id
+GROUP BY s.id;
+
+CREATE UNIQUE INDEX ux_mv_student_enrollment ON mv_student_enrollment (student_id);
+CREATE INDEX ix_mv_student_enrollment_enrolled ON mv_student_enrollment (enrolled);
+
+CREATE MATERIALIZED VIEW mv_enrollment_histogram AS
+SELECT 'course' AS kind, enrolled AS enrollments, COUNT(*) AS count
+FROM mv_course_enrollment
+GROUP BY enrolled
+UNION ALL
+SELECT 'student' AS kind, enrolled AS enrollments, COUNT(*) AS count
+FROM mv_student_enrollment
+GROUP BY enrolled;
+
+CREATE UNIQUE INDEX ux_mv_enrollment_histogram ON mv_enrollment_histogram (kind, enrollments);
@@ -1,3 +1,6 @@
-INSERT INTO t_course(name) VALUES ('Yazılım');
+-- Courses belong to a term, and enrollments are stored in the partition of their course's term. 2026-FALL is created
+-- by the V9 migration and is the default bimetri.terms.active.
+INSERT INTO t_course(name, term) VALUES ('Yazılım', '2026-FALL');
 INSERT INTO t_student(name,surname, school_number) VALUES ('Nedim','Kaçan',123);
-INSERT INTO course_student(course_id, student_id) VALUES (1,1);
\ No newline at end of file
+INSERT INTO course_student(course_id, student_id, term)
+SELECT c.id, s.id, c.term FROM t_course c, t_student s WHERE c.name = 'Yazılım' AND s.school_number = 123;
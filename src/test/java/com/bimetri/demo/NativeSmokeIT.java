@@ -0,0 +1,117 @@
+package com.bimetri.demo;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the native executable built by the native profile against a local database and calls the endpoints that
+ * depend on reflection: DTO projections, Jackson and Smile serialization, bean validation and the exception handler.
+ * <pre>
+ *   mvn -Pnative verify
+ * </pre>
+ * The database is given by the native.datasource.url system property.
+ */
+@EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+class NativeSmokeIT {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private static Process process;
+    private static RestClient client;
+
+    @BeforeAll
+    static void startExecutable() throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        File log = new File(System.getProperty("native.executable") + "-smoke-test.log");
+        process = new ProcessBuilder(System.getProperty("native.executable"),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + System.getProperty("native.datasource.url", "jdbc:postgresql://localhost:5432/bimetri"),
+                "--spring.jpa.show-sql=false",
+                "--logging.file.name=" + log.getPath())
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        client = RestClient.create("http://localhost:" + port);
+
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (!isUp()) {
+            assertTrue(process.isAlive(), "The native executable exited, see " + log);
+            assertTrue(Instant.now().isBefore(deadline), "The native executable did not start within " + STARTUP_TIMEOUT);
+            Thread.sleep(100);
+        }
+    }
+
+    @AfterAll
+    static void stopExecutable() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testListEndpointsReturnProjections() {
+        assertEquals(200, status("/students").value());
+        assertEquals(200, status("/students/student-and-courses").value());
+        assertEquals(200, status("/courses").value());
+    }
+
+    @Test
+    void testSmileIsNegotiated() {
+        MediaType contentType = client.get().uri("/courses").accept(MediaType.valueOf("application/x-jackson-smile"))
+                .retrieve().toBodilessEntity().getHeaders().getContentType();
+
+        assertEquals("application/x-jackson-smile", contentType.getType() + "/" + contentType.getSubtype());
+    }
+
+    @Test
+    void testResourceNotFoundIsHandled() {
+        Map<?, ?> body = client.get().uri("/courses/students-all-courses/{id}", Long.MAX_VALUE)
+                .exchange((request, response) -> {
+                    assertEquals(404, response.getStatusCode().value());
+                    return response.bodyTo(Map.class);
+                });
+
+        assertNotNull(body.get("message"));
+        assertNotNull(body.get("timestamp"));
+    }
+
+    @Test
+    void testInvalidRequestIsRejected() {
+        HttpStatusCode status = client.post().uri("/students").contentType(MediaType.APPLICATION_JSON).body(Map.of("name", ""))
+                .exchange((request, response) -> response.getStatusCode());
+
+        assertEquals(400, status.value());
+    }
+
+    private static HttpStatusCode status(String uri) {
+        return client.get().uri(uri).retrieve().toBodilessEntity().getStatusCode();
+    }
+
+    private static boolean isUp() {
+        try {
+            return "UP".equals(client.get().uri("/actuator/health").retrieve().body(Map.class).get("status"));
+        } catch (RestClientException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bimetri.demo.benchmark;
+
+import com.bimetri.demo.BimetriApplication;
+import com.bimetri.demo.exception.BusinessException;
+import com.bimetri.demo.exception.ConflictException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conflict-heavy enroll path: eight threads retrying an enrollment that already exists, so every request
+ * ends in DUPLICATE_COURSE, with and without stack traces on business exceptions. throwConflict isolates the cost of
+ * throwing from a Spring MVC sized stack. Run with the gc profiler to compare allocation per operation:
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=EnrollConflictBenchmark
+ * </pre>
+ * The benchmark seeds its own database, given by the benchmark.datasource.url system property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EnrollConflictBenchmark {
+    private static final int STACK_DEPTH = 120;
+
+    @Param({"false", "true"})
+    private boolean stackTraces;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest enrollRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BimetriApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--spring.datasource.url=" + System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/bimetri_benchmark"),
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--bimetri.admission.enabled=false",
+                        "--bimetri.exceptions.stack-traces=" + stackTraces);
+
+        long[] enrollment = seedEnrollment(context.getBean(JdbcTemplate.class));
+        String port = context.getEnvironment().getProperty("local.server.port");
+
+        httpClient = HttpClient.newHttpClient();
+        enrollRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/courses/enroll?studentId=" + enrollment[0] + "&courseId=" + enrollment[1]))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int enrollConflict() throws IOException, InterruptedException {
+        return httpClient.send(enrollRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public String throwConflict() {
+        try {
+            return throwAtDepth(STACK_DEPTH);
+        } catch (BusinessException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private static String throwAtDepth(int depth) {
+        if (depth == 0) {
+            throw new ConflictException(ErrorMessage.DUPLICATE_COURSE);
+        }
+        return throwAtDepth(depth - 1);
+    }
+
+    private static long[] seedEnrollment(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO t_student(name, surname, school_number) SELECT 'Benchmark', 'Student', 999999999 " +
+                "WHERE NOT EXISTS (SELECT 1 FROM t_student WHERE school_number = 999999999)");
+        jdbcTemplate.update("INSERT INTO t_course(name) SELECT 'Benchmark Course' WHERE NOT EXISTS (SELECT 1 FROM t_course WHERE name = 'Benchmark Course')");
+
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM t_student WHERE school_number = 999999999", Long.class);
+        Long courseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM t_course WHERE name = 'Benchmark Course'", Long.class);
+        jdbcTemplate.update("INSERT INTO course_student(course_id, student_id) SELECT ?, ? " +
+                "WHERE NOT EXISTS (SELECT 1 FROM course_student WHERE course_id = ? AND student_id = ?)", courseId, studentId, courseId, studentId);
+
+        return new long[]{studentId, courseId};
+    }
+}
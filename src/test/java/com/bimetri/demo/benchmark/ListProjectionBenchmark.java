@@ -0,0 +1,78 @@
+package com.bimetri.demo.benchmark;
+
+import com.bimetri.demo.BimetriApplication;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.mapper.StudentMapper;
+import com.bimetri.demo.repository.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading 100k students as managed entities and mapping them, against selecting them straight into
+ * response DTOs. Run with the gc profiler to compare allocation per operation:
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ListProjectionBenchmark
+ * </pre>
+ * The benchmark seeds its own database, given by the benchmark.datasource.url system property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ListProjectionBenchmark {
+    private static final int ROW_COUNT = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BimetriApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/bimetri_benchmark"),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        studentRepository = context.getBean(StudentRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        seedStudents(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StudentResponseDto> entityHydration() {
+        return readOnlyTransaction.execute(status -> StudentMapper.toDTOList(studentRepository.findAll()));
+    }
+
+    @Benchmark
+    public List<StudentResponseDto> dtoProjection() {
+        return readOnlyTransaction.execute(status -> studentRepository.findAllAsResponse());
+    }
+
+    private static void seedStudents(JdbcTemplate jdbcTemplate) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_student", Integer.class);
+        if (existing != null && existing >= ROW_COUNT) {
+            return;
+        }
+
+        jdbcTemplate.update("INSERT INTO t_student(name, surname, school_number) " +
+                "SELECT 'Name' || n, 'Surname' || n, 1000000 + n FROM generate_series(?, ?) AS n", existing + 1, ROW_COUNT);
+    }
+}
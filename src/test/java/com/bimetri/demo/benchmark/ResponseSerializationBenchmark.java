@@ -0,0 +1,90 @@
+package com.bimetri.demo.benchmark;
+
+import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization throughput and allocation per row of the list response DTOs, with the default reflective
+ * serializers and with Blackbird. Scores are per row:
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ResponseSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(1)
+@OperationsPerInvocation(ResponseSerializationBenchmark.ROW_COUNT)
+public class ResponseSerializationBenchmark {
+    static final int ROW_COUNT = 10_000;
+
+    @Param({"reflection", "blackbird"})
+    private String mode;
+
+    private ObjectWriter studentWriter;
+    private ObjectWriter studentAndCoursesWriter;
+    private List<StudentResponseDto> students;
+    private List<StudentAndCoursesResponseDto> studentsAndCourses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if ("blackbird".equals(mode)) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        studentWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, StudentResponseDto.class));
+        studentAndCoursesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, StudentAndCoursesResponseDto.class));
+
+        students = new ArrayList<>(ROW_COUNT);
+        studentsAndCourses = new ArrayList<>(ROW_COUNT);
+        for (long i = 1; i <= ROW_COUNT; i++) {
+            students.add(new StudentResponseDto(i, "Name" + i, "Surname" + i, 1_000_000L + i));
+            studentsAndCourses.add(new StudentAndCoursesResponseDto(i, "Name" + i, "Surname" + i, 1_000_000L + i, "Mathematics, Physics, Chemistry"));
+        }
+    }
+
+    @Benchmark
+    public void students(Blackhole blackhole) throws IOException {
+        studentWriter.writeValue(new BlackholeOutputStream(blackhole), students);
+    }
+
+    @Benchmark
+    public void studentsAndCourses(Blackhole blackhole) throws IOException {
+        studentAndCoursesWriter.writeValue(new BlackholeOutputStream(blackhole), studentsAndCourses);
+    }
+
+    /**
+     * Discards the serialized bytes so the benchmark measures serialization rather than buffer growth.
+     */
+    private static final class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        private BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bimetri.demo.benchmark;
+
+import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the payload size and client-side decode time of the student-and-courses list in JSON and Smile.
+ * The encoded size of each format is reported next to the timings as the {@code payloadBytes} secondary result:
+ * <pre>
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=WireFormatBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final int ROW_COUNT = 100_000;
+
+    @Param({"json", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private List<StudentAndCoursesResponseDto> rows;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = "smile".equals(format) ? new SmileMapper() : new ObjectMapper();
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, StudentAndCoursesResponseDto.class);
+
+        rows = new ArrayList<>(ROW_COUNT);
+        for (long i = 1; i <= ROW_COUNT; i++) {
+            rows.add(new StudentAndCoursesResponseDto(i, "Name" + i, "Surname" + i, 1_000_000L + i, "Mathematics, Physics, Chemistry"));
+        }
+
+        payload = objectMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public List<StudentAndCoursesResponseDto> decode(PayloadSize payloadSize) throws IOException {
+        payloadSize.payloadBytes = payload.length;
+        return objectMapper.readValue(payload, listType);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) throws IOException {
+        byte[] encoded = objectMapper.writeValueAsBytes(rows);
+        payloadSize.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    /**
+     * Reports the encoded size of the list. EVENTS counters are reported as they stand at the end of each iteration,
+     * so each call sets the size instead of adding to it.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bimetri.demo.config;
+
+import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.dto.response.StudentAndCoursesResponseDto;
+import com.bimetri.demo.exception.BimetriExceptionHandler;
+import com.bimetri.demo.exception.message.ApiResponseError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsConfigurationTest {
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfiguration.BimetriRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testProjectionConstructorsAreRegistered() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(StudentAndCoursesResponseDto.class.getConstructor(Long.class, String.class, String.class, Long.class, String.class)).test(hints));
+    }
+
+    @Test
+    void testErrorBodyIsRegisteredForBinding() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ApiResponseError.class.getMethod("getMessage")).test(hints));
+    }
+
+    @Test
+    void testEntityAndExceptionHandlerAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Student.class).withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BimetriExceptionHandler.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS).test(hints));
+    }
+
+    @Test
+    void testMigrationsAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__baseline.sql").test(hints));
+    }
+}
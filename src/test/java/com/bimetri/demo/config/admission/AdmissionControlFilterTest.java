@@ -0,0 +1,96 @@
+package com.bimetri.demo.config.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setRoutes(List.of("POST /courses/enroll", "GET /reports/**"));
+        properties.setClientRate(2);
+        properties.setClientBurst(3);
+        filter = new AdmissionControlFilter(properties, 1, new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, clock::get);
+    }
+
+    @Test
+    void testBurstThenRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send("POST", "/courses/enroll", "10.0.0.1").getStatus());
+        }
+
+        MockHttpServletResponse rejected = send("POST", "/courses/enroll", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, send("POST", "/courses/enroll", "10.0.0.2").getStatus());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(200, send("POST", "/courses/enroll", "10.0.0.1").getStatus());
+        assertEquals(1.0, meterRegistry.get("bimetri.admission.requests").tag("outcome", "rate_limited").counter().count());
+    }
+
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain slowChain = (request, response) -> nested[0] = send("GET", "/reports/enrollments", "10.0.0.2");
+
+        MockHttpServletRequest request = request("GET", "/reports/enrollments", "10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, slowChain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(429, nested[0].getStatus());
+        assertEquals(200, send("GET", "/reports/enrollments", "10.0.0.2").getStatus());
+        assertEquals(0.0, meterRegistry.get("bimetri.admission.in.flight").gauge().value());
+    }
+
+    @Test
+    void testUnguardedRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send("GET", "/courses/enroll", "10.0.0.1").getStatus());
+        }
+        assertEquals(0.0, meterRegistry.get("bimetri.admission.clients").gauge().value());
+    }
+
+    @Test
+    void testSweepForgetsRefilledClients() throws Exception {
+        send("POST", "/courses/enroll", "10.0.0.1");
+        filter.sweepIdleClients();
+        assertEquals(1.0, meterRegistry.get("bimetri.admission.clients").gauge().value());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        filter.sweepIdleClients();
+        assertEquals(0.0, meterRegistry.get("bimetri.admission.clients").gauge().value());
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String client) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, client), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
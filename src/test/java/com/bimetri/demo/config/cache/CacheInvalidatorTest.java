@@ -0,0 +1,48 @@
+package com.bimetri.demo.config.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidatorTest {
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private CacheInvalidator cacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidator = new CacheInvalidator(cacheManager, mock(JdbcTemplate.class), new CacheInvalidationProperties());
+        for (String cache : new String[]{CacheNames.COURSES, "acme:" + CacheNames.COURSES, "acme:" + CacheNames.COURSE_ROSTERS, "globex:" + CacheNames.COURSES}) {
+            cacheManager.getCache(cache).put("all", cache);
+        }
+    }
+
+    @Test
+    void testTenantWildcardOnlyClearsThatTenant() {
+        cacheInvalidator.apply("acme@" + CacheInvalidator.ALL_CACHES);
+
+        assertNull(cacheManager.getCache("acme:" + CacheNames.COURSES).get("all"));
+        assertNull(cacheManager.getCache("acme:" + CacheNames.COURSE_ROSTERS).get("all"));
+        assertNotNull(cacheManager.getCache("globex:" + CacheNames.COURSES).get("all"));
+        assertNotNull(cacheManager.getCache(CacheNames.COURSES).get("all"));
+    }
+
+    @Test
+    void testDefaultTenantWildcardLeavesOtherTenants() {
+        cacheInvalidator.apply(CacheInvalidator.ALL_CACHES);
+
+        assertNull(cacheManager.getCache(CacheNames.COURSES).get("all"));
+        assertNotNull(cacheManager.getCache("acme:" + CacheNames.COURSES).get("all"));
+    }
+
+    @Test
+    void testClearAllClearsEveryTenant() {
+        cacheInvalidator.clearAll();
+
+        assertNull(cacheManager.getCache(CacheNames.COURSES).get("all"));
+        assertNull(cacheManager.getCache("globex:" + CacheNames.COURSES).get("all"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.bimetri.demo.config.cache;
+
+import com.bimetri.demo.BimetriApplication;
+import com.bimetri.demo.dto.request.CourseRequestDto;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.service.CourseService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two instances of the application against the same database and checks that a write on one evicts the
+ * entries it makes stale in the cache of the other.
+ */
+class ClusterCacheInvalidationTest {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws InterruptedException {
+        nodeA = startNode();
+        nodeB = startNode();
+        awaitListening(nodeA);
+        awaitListening(nodeB);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void testWriteOnOneNodeEvictsOtherNode() throws InterruptedException {
+        CourseService courseServiceA = nodeA.getBean(CourseService.class);
+        CourseService courseServiceB = nodeB.getBean(CourseService.class);
+        String name = "Cluster " + UUID.randomUUID().toString().substring(0, 8);
+
+        List<CourseResponseDto> before = courseServiceA.getAll();
+        assertSame(before, courseServiceA.getAll());
+
+        CourseRequestDto courseRequestDto = new CourseRequestDto();
+        courseRequestDto.setName(name);
+        courseServiceB.create(courseRequestDto);
+        try {
+            awaitEvicted(nodeA, CacheNames.COURSES, "all");
+
+            assertTrue(courseServiceA.getAll().stream().anyMatch(course -> name.equals(course.getName())));
+        } finally {
+            courseServiceB.getAll().stream()
+                    .filter(course -> name.equals(course.getName()))
+                    .forEach(course -> courseServiceB.deleteById(course.getId()));
+        }
+
+        awaitEvicted(nodeA, CacheNames.COURSES, "all");
+        assertTrue(courseServiceA.getAll().stream().noneMatch(course -> name.equals(course.getName())));
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotEvict() throws InterruptedException {
+        CourseService courseServiceA = nodeA.getBean(CourseService.class);
+        TransactionTemplate transactionB = new TransactionTemplate(nodeB.getBean(PlatformTransactionManager.class));
+        List<CourseResponseDto> before = courseServiceA.getAll();
+        nodeA.getBean(CacheManager.class).getCache(CacheNames.COURSE_ROSTERS).put(-1L, List.of());
+
+        transactionB.executeWithoutResult(status -> {
+            nodeB.publishEvent(EntityChangedEvent.all(CacheNames.COURSES));
+            status.setRollbackOnly();
+        });
+        // Notifications arrive in commit order, so once this one is applied the rolled back one never will be.
+        transactionB.executeWithoutResult(status -> nodeB.publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, -1L)));
+        awaitEvicted(nodeA, CacheNames.COURSE_ROSTERS, -1L);
+
+        assertSame(before, courseServiceA.getAll());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BimetriApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false");
+    }
+
+    private static void awaitListening(ConfigurableApplicationContext node) throws InterruptedException {
+        CacheInvalidationListener listener = node.getBean(CacheInvalidationListener.class);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!listener.isListening()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The cache invalidation listener did not connect.");
+            Thread.sleep(20);
+        }
+    }
+
+    private static void awaitEvicted(ConfigurableApplicationContext node, String cacheName, Object key) throws InterruptedException {
+        CacheManager cacheManager = node.getBean(CacheManager.class);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (cacheManager.getCache(cacheName).get(key) != null) {
+            assertTrue(System.currentTimeMillis() < deadline, "The " + cacheName + " entry " + key + " was not evicted.");
+            Thread.sleep(20);
+        }
+    }
+}
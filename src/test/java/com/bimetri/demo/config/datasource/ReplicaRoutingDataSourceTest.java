@@ -0,0 +1,218 @@
+package com.bimetri.demo.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+    private static final String COOKIE = "bimetri-last-write";
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaA = healthyDataSource();
+        replicaB = healthyDataSource();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testReadOnlyTransactionRoutesToReplica() {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransactionsAreBalancedAcrossReplicas() {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-a", routing.determineCurrentLookupKey());
+        assertEquals("replica-b", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testWriteTransactionRoutesToPrimary() {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testNonTransactionalAccessDoesNotOpenReadYourWritesWindow() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadsStayOnPrimaryWithinReadYourWritesWindow() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        write(routing);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(COOKIE + "="));
+    }
+
+    @Test
+    void testReadYourWritesWindowIsCarriedByTheCookie() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        MockHttpServletRequest writer = new MockHttpServletRequest();
+        writer.setCookies(new Cookie(COOKIE, Long.toString(System.currentTimeMillis())));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(writer));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        expired.setCookies(new Cookie(COOKIE, Long.toString(System.currentTimeMillis() - Duration.ofMinutes(2).toMillis())));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(expired));
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testBackgroundWritesDoNotOpenReadYourWritesWindow() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+
+        write(routing);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testRolledBackWriteSetsNoCookie() {
+        ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        routing.determineCurrentLookupKey();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void testCacheLoadsReadFromPrimary() {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        boolean previous = ReplicaRoutingDataSource.readFromPrimary();
+        try {
+            assertFalse(previous);
+            assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        } finally {
+            ReplicaRoutingDataSource.restoreReads(previous);
+        }
+
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testUnhealthyReplicaIsTakenOutOfRotation() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        routing.checkHealth(Duration.ofSeconds(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("replica-b"), routing.getHealthyReplicas());
+        assertEquals("replica-b", routing.determineCurrentLookupKey());
+        assertEquals("replica-b", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadsFallBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replicaB.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        routing.checkHealth(Duration.ofSeconds(1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testFailedReplicaConnectionFailsOverToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+        Connection primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection is not available"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(List.of("replica-b"), routing.getHealthyReplicas());
+    }
+
+    private ReplicaRoutingDataSource routing(Duration readYourWritesWindow) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow, COOKIE);
+    }
+
+    private static void write(ReplicaRoutingDataSource routing) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private static DataSource healthyDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
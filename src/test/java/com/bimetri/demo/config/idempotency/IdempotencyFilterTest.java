@@ -0,0 +1,81 @@
+package com.bimetri.demo.config.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyProperties(), Caffeine.newBuilder().<String, StoredResponse>build(),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void testReplaysRecordedResponse() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"name\":\"Math\"}", created());
+        MockHttpServletResponse second = send("key-1", "{\"name\":\"Math\"}", created());
+
+        assertEquals(1, executions.get());
+        assertEquals(201, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testKeyReusedForDifferentBody() throws Exception {
+        send("key-1", "{\"name\":\"Math\"}", created());
+
+        assertEquals(422, send("key-1", "{\"name\":\"Physics\"}", created()).getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeyInProgress() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        send("key-1", "{}", (request, response) -> nested[0] = send("key-1", "{}", created()));
+
+        assertEquals(409, nested[0].getStatus());
+    }
+
+    @Test
+    void testServerErrorsAreNotRecorded() throws Exception {
+        send("key-1", "{}", (request, response) -> ((HttpServletResponse) response).setStatus(503));
+
+        assertEquals(201, send("key-1", "{}", created()).getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write(("{\"success\":true,\"n\":" + executions.get() + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/courses");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
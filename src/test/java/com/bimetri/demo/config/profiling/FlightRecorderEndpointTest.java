@@ -0,0 +1,58 @@
+package com.bimetri.demo.config.profiling;
+
+import com.bimetri.demo.dto.response.RecordingResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEndpointTest {
+    @TempDir
+    private Path directory;
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        ProfilingProperties properties = new ProfilingProperties();
+        properties.setDirectory(directory);
+        properties.setDefaultSettings("default");
+        endpoint = new FlightRecorderEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.discard();
+    }
+
+    @Test
+    void testRecordingIsStoppedAndServed() throws Exception {
+        RecordingResponseDto started = endpoint.start(Duration.ofMinutes(1), null);
+        assertEquals("RUNNING", started.getState());
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(null, null));
+
+        Resource file = endpoint.download(started.getId());
+
+        assertNotEquals("RUNNING", endpoint.status().getState());
+        assertTrue(file.contentLength() > 0);
+        assertNull(endpoint.download(started.getId() + 1));
+
+        endpoint.discard();
+        assertFalse(Files.exists(file.getFile().toPath()));
+        assertNull(endpoint.status());
+    }
+
+    @Test
+    void testInvalidDurationAndSettingsAreRejected() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(Duration.ofHours(1), null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(null, "nope"));
+        assertNull(endpoint.status());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bimetri.demo.config.querybudget;
+
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.StudentResponseDto;
+import com.bimetri.demo.service.CourseService;
+import com.bimetri.demo.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the endpoints with a query budget in application.yml against the database, with fail-on-violation, so that a
+ * change making one of them run more statements than its budget fails here.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "bimetri.query-budget.fail-on-violation=true", "bimetri.admission.enabled=false"})
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTest {
+    private static final int STUDENTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void testEndpointsStayWithinTheirBudget() throws Exception {
+        String name = "Budget " + UUID.randomUUID().toString().substring(0, 8);
+        List<Long> studentIds = new ArrayList<>();
+        try {
+            mockMvc.perform(post("/courses").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"" + name + "\"}"))
+                    .andExpect(status().is2xxSuccessful());
+            Long courseId = courseService.getAll().stream().filter(course -> name.equals(course.getName())).map(CourseResponseDto::getId).findFirst().orElseThrow();
+
+            for (int i = 0; i < STUDENTS; i++) {
+                long schoolNumber = ThreadLocalRandom.current().nextLong(100_000_000L, 1_000_000_000L);
+                mockMvc.perform(post("/students").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"surname\":\"Student\",\"schoolNumber\":" + schoolNumber + "}")).andExpect(status().is2xxSuccessful());
+                Long studentId = studentService.getAll().stream().filter(student -> schoolNumber == student.getSchoolNumber())
+                        .map(StudentResponseDto::getId).findFirst().orElseThrow();
+                studentIds.add(studentId);
+                mockMvc.perform(post("/courses/enroll").param("studentId", studentId.toString()).param("courseId", courseId.toString()))
+                        .andExpect(status().is2xxSuccessful());
+            }
+
+            mockMvc.perform(get("/students")).andExpect(status().isOk());
+            mockMvc.perform(get("/courses")).andExpect(status().isOk());
+            mockMvc.perform(get("/students/student-and-courses")).andExpect(status().isOk());
+            mockMvc.perform(get("/students/course-all-students/" + courseId)).andExpect(status().isOk());
+            mockMvc.perform(get("/courses/students-all-courses/" + studentIds.get(0))).andExpect(status().isOk());
+        } finally {
+            courseService.getAll().stream().filter(course -> name.equals(course.getName())).forEach(course -> courseService.deleteById(course.getId()));
+            studentIds.forEach(studentService::deleteById);
+        }
+    }
+}
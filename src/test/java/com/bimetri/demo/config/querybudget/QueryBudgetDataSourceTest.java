@@ -0,0 +1,87 @@
+package com.bimetri.demo.config.querybudget;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryBudgetDataSourceTest {
+    private Connection connection;
+    private QueryBudgetDataSource dataSource;
+    private QueryTracker tracker;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new QueryBudgetDataSource(target);
+        tracker = QueryTracker.start(Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.stop();
+    }
+
+    @Test
+    void testJdbcTemplateStatementsAreCounted() throws SQLException {
+        PreparedStatement update = mock(PreparedStatement.class);
+        Statement statement = mock(Statement.class);
+        when(connection.prepareStatement("UPDATE t_outbox SET published_at = now() WHERE id = ?")).thenReturn(update);
+        when(connection.createStatement()).thenReturn(statement);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("UPDATE t_outbox SET published_at = now() WHERE id = ?", 1L);
+        jdbcTemplate.update("UPDATE t_outbox SET published_at = now() WHERE id = ?", 2L);
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW mv_course_enrollment");
+
+        assertEquals(3, tracker.getCount());
+        assertEquals(2, tracker.getMostRepeated().getValue());
+        verify(update, times(2)).executeUpdate();
+        verify(statement).execute("REFRESH MATERIALIZED VIEW mv_course_enrollment");
+    }
+
+    @Test
+    void testStatementsAreCountedOncePerExecution() throws SQLException {
+        PreparedStatement insert = mock(PreparedStatement.class);
+        when(connection.prepareStatement("INSERT INTO t_student (name) VALUES (?)")).thenReturn(insert);
+
+        try (Connection proxy = dataSource.getConnection(); PreparedStatement statement = proxy.prepareStatement("INSERT INTO t_student (name) VALUES (?)")) {
+            statement.setString(1, "Ada");
+            statement.addBatch();
+            statement.setString(1, "Alan");
+            statement.addBatch();
+            statement.executeBatch();
+
+            assertSame(proxy, statement.getConnection());
+        }
+
+        assertEquals(1, tracker.getCount());
+        verify(insert).executeBatch();
+        verify(connection).close();
+    }
+
+    @Test
+    void testStatementsOutsideARequestAddToTheThreadTotal() throws SQLException {
+        QueryTracker.stop();
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        long before = QueryTracker.executed();
+
+        new JdbcTemplate(dataSource).execute("SELECT pg_advisory_xact_lock(42)");
+
+        assertEquals(before + 1, QueryTracker.executed());
+        assertEquals(0, tracker.getCount());
+    }
+}
@@ -0,0 +1,84 @@
+package com.bimetri.demo.config.querybudget;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        QueryBudgetProperties.RouteBudget students = new QueryBudgetProperties.RouteBudget();
+        students.setRoute("GET /students");
+        students.setMaxQueries(1);
+
+        QueryBudgetProperties.RouteBudget bulkDelete = new QueryBudgetProperties.RouteBudget();
+        bulkDelete.setRoute("POST /courses/bulk-delete");
+        bulkDelete.setMaxQueries(10);
+        bulkDelete.setMaxRepeats(3);
+
+        QueryBudgetProperties properties = new QueryBudgetProperties();
+        properties.setMaxRepeats(2);
+        properties.setFailOnViolation(true);
+        properties.setRoutes(List.of(students, bulkDelete));
+        filter = new QueryBudgetFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void testRouteBudget() throws Exception {
+        FilterChain twoQueries = (request, response) -> {
+            run("select s1_0.id from t_student s1_0");
+            run("select c1_0.id from t_course c1_0");
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/courses"), new MockHttpServletResponse(), twoQueries);
+        IllegalStateException violation = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/students"), new MockHttpServletResponse(), twoQueries));
+
+        assertTrue(violation.getMessage().startsWith("GET /students ran 2 queries"));
+        assertEquals(1.0, meterRegistry.get("bimetri.query.budget.violations").tag("kind", "queries").counter().count());
+        assertEquals(2.0, meterRegistry.get("bimetri.request.queries").summary().count());
+    }
+
+    @Test
+    void testRepeatedQueryShape() throws Exception {
+        FilterChain lazyLoadingLoop = (request, response) -> {
+            run("select c1_0.name from t_course c1_0 where c1_0.id in (?, ?)");
+            run("select c1_0.name from t_course c1_0 where c1_0.id in (?)");
+            run("select c1_0.name from t_course c1_0 where c1_0.id in (42, 7, 1)");
+        };
+
+        IllegalStateException violation = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/courses"), new MockHttpServletResponse(), lazyLoadingLoop));
+
+        assertTrue(violation.getMessage().contains("the same query 3 times"));
+        assertTrue(violation.getMessage().endsWith("where c1_0.id in (?)"));
+    }
+
+    @Test
+    void testRouteRepeats() throws Exception {
+        FilterChain chunks = (request, response) -> {
+            for (int i = 0; i < 3; i++) {
+                run("SELECT id FROM t_course WHERE id = ANY (?) ORDER BY id FOR UPDATE");
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/courses/bulk-delete"), new MockHttpServletResponse(), chunks);
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("POST", "/students/bulk-delete"), new MockHttpServletResponse(), chunks));
+    }
+
+    private static void run(String sql) {
+        QueryTracker.executionStarted(sql);
+        QueryTracker.executionEnded();
+    }
+}
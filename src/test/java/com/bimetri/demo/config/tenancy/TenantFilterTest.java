@@ -0,0 +1,98 @@
+package com.bimetri.demo.config.tenancy;
+
+import com.bimetri.demo.config.idempotency.IdempotencyConfiguration;
+import com.bimetri.demo.config.idempotency.IdempotencyFilter;
+import com.bimetri.demo.config.idempotency.IdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.OrderComparator;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantFilterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<String> seen = new ArrayList<>();
+    private final FilterChain chain = (request, response) -> seen.add(TenantContext.getSchema());
+    private TenantFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setEnabled(true);
+        properties.setTenants(List.of("acme", "globex"));
+        filter = new TenantFilter(properties, new Tenants(properties), objectMapper);
+    }
+
+    @Test
+    void testTenantIsSetForTheRequestOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/courses");
+        request.addHeader("X-Tenant-ID", "acme");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/courses"), new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of("tenant_acme", TenantContext.DEFAULT_SCHEMA), seen);
+        assertEquals("acme", request.getAttribute(TenantFilter.TENANT_ATTRIBUTE));
+        assertTrue(TenantContext.isDefault());
+    }
+
+    @Test
+    void testUnknownTenantIsRejected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/courses");
+        request.addHeader("X-Tenant-ID", "initech");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertEquals(404, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Tenant initech not found!"));
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    void testIdempotencyKeysAreNotSharedBetweenTenants() throws Exception {
+        IdempotencyFilter idempotencyFilter = new IdempotencyConfiguration().idempotencyFilter(new IdempotencyProperties(), objectMapper, new SimpleMeterRegistry());
+        List<Filter> filters = new ArrayList<>(List.of(idempotencyFilter, filter));
+        filters.sort(OrderComparator.INSTANCE);
+
+        MockHttpServletResponse acme = send(filters, "acme");
+        MockHttpServletResponse globex = send(filters, "globex");
+
+        assertEquals(List.of("tenant_acme", "tenant_globex"), seen);
+        assertNull(acme.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(globex.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("true", send(filters, "acme").getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    private MockHttpServletResponse send(List<Filter> filters, String tenant) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/courses");
+        request.addHeader("X-Tenant-ID", tenant);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContent("{\"name\":\"Math\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws ServletException, IOException {
+                chain.doFilter(req, res);
+                res.setStatus(201);
+            }
+        };
+        new MockFilterChain(servlet, filters.toArray(Filter[]::new)).doFilter(request, response);
+        return response;
+    }
+}
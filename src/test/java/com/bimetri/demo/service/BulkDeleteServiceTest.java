@@ -0,0 +1,77 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.BulkDeleteProperties;
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.response.BulkDeleteResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.repository.BulkDeleteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkDeleteServiceTest {
+
+    @Mock
+    private BulkDeleteRepository bulkDeleteRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final BulkDeleteProperties bulkDeleteProperties = new BulkDeleteProperties();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BulkDeleteService bulkDeleteService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        bulkDeleteProperties.setChunkSize(2);
+        bulkDeleteService = new BulkDeleteService(bulkDeleteRepository, transactionTemplate, eventPublisher, bulkDeleteProperties, meterRegistry);
+    }
+
+    @Test
+    void testDeleteAll_ChunksSortedIdsAndReportsMissing() {
+        when(bulkDeleteRepository.lock(AggregateType.COURSE, List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(bulkDeleteRepository.lock(AggregateType.COURSE, List.of(3L, 4L))).thenReturn(List.of(4L));
+        when(bulkDeleteRepository.deleteWithEnrollments(AggregateType.COURSE, List.of(1L, 2L))).thenReturn(7L);
+        when(bulkDeleteRepository.deleteWithEnrollments(AggregateType.COURSE, List.of(4L))).thenReturn(3L);
+
+        BulkDeleteResponseDto result = bulkDeleteService.deleteAll(AggregateType.COURSE, List.of(4L, 2L, 3L, 1L, 2L));
+
+        assertEquals(4, result.getRequested());
+        assertEquals(3, result.getDeleted());
+        assertEquals(10, result.getEnrollmentsRemoved());
+        assertEquals(List.of(3L), result.getNotFound());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher).publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, 4L));
+        assertEquals(3, meterRegistry.get("bimetri.bulk.delete.records").tag("entity", "course").counter().count());
+        assertEquals(0, meterRegistry.get("bimetri.bulk.delete.pending").gauge().value());
+    }
+
+    @Test
+    void testDeleteAll_TooManyIds() {
+        bulkDeleteProperties.setMaxIds(2);
+
+        assertThrows(BadRequestException.class, () -> bulkDeleteService.deleteAll(AggregateType.STUDENT, List.of(1L, 2L, 3L)));
+        verifyNoInteractions(bulkDeleteRepository);
+    }
+}
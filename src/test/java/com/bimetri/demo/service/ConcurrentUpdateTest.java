@@ -0,0 +1,86 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.dto.request.CourseRequestDto;
+import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.exception.ConflictException;
+import com.bimetri.demo.exception.ResourceNotFoundException;
+import com.bimetri.demo.exception.message.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs concurrent updates of the same course against the database and checks that only one of the updates made from
+ * the same version applies.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ConcurrentUpdateTest {
+    private static final int WRITERS = 4;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void testConcurrentUpdatesOfSameVersionConflict() throws Exception {
+        String name = "Locking " + UUID.randomUUID().toString().substring(0, 8);
+        CourseResponseDto course = create(name);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> updates = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                CourseRequestDto courseRequestDto = new CourseRequestDto(name + " " + i, course.getVersion());
+                updates.add(executor.submit(() -> {
+                    start.await();
+                    this.courseService.update(course.getId(), courseRequestDto);
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            int applied = 0;
+            for (Future<?> update : updates) {
+                try {
+                    update.get();
+                    applied++;
+                } catch (Exception ex) {
+                    ConflictException conflict = assertInstanceOf(ConflictException.class, ex.getCause());
+                    assertEquals(String.format(ErrorMessage.VERSION_CONFLICT, course.getId(), course.getVersion() + 1), conflict.getMessage());
+                }
+            }
+
+            assertEquals(1, applied);
+            assertEquals(course.getVersion() + 1, find(course.getId()).getVersion());
+        } finally {
+            executor.shutdown();
+            this.courseService.deleteById(course.getId());
+        }
+    }
+
+    @Test
+    void testUpdateOfMissingCourseIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> this.courseService.update(-1L, new CourseRequestDto("Missing", 0L)));
+    }
+
+    private CourseResponseDto create(String name) {
+        CourseRequestDto courseRequestDto = new CourseRequestDto();
+        courseRequestDto.setName(name);
+        this.courseService.create(courseRequestDto);
+
+        return this.courseService.getAll().stream().filter(course -> name.equals(course.getName())).findFirst().orElseThrow();
+    }
+
+    private CourseResponseDto find(Long id) {
+        return this.courseService.getAll().stream().filter(course -> id.equals(course.getId())).findFirst().orElseThrow();
+    }
+}
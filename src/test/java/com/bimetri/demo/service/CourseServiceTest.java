@@ -1,19 +1,34 @@
 package com.bimetri.demo.service;
 
+import com.bimetri.demo.config.cache.CacheNames;
+import com.bimetri.demo.config.cache.EntityChangedEvent;
 import com.bimetri.demo.domain.Course;
 import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.domain.WaitlistEntry;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.bimetri.demo.dto.enums.EnrollmentStatus;
+import com.bimetri.demo.dto.request.CourseQueryDto;
 import com.bimetri.demo.dto.request.CourseRequestDto;
+import com.bimetri.demo.dto.request.SearchRequestDto;
 import com.bimetri.demo.dto.response.CourseResponseDto;
+import com.bimetri.demo.dto.response.EnrollmentResponseDto;
+import com.bimetri.demo.dto.response.SearchResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
 import com.bimetri.demo.exception.ConflictException;
 import com.bimetri.demo.exception.ResourceNotFoundException;
 import com.bimetri.demo.mapper.CourseMapper;
 import com.bimetri.demo.repository.CourseRepository;
+import com.bimetri.demo.repository.OutboxRepository;
 import com.bimetri.demo.repository.StudentRepository;
+import com.bimetri.demo.repository.WaitlistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class CourseServiceTest {
+    private static final String TERM = "2026-FALL";
 
     @Mock
     private CourseRepository courseRepository;
@@ -30,34 +46,95 @@ class CourseServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private TermService termService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(termService.getActiveTerm()).thenReturn(TERM);
     }
 
     @Test
     void testGetAll() {
-        List<Course> courses = new ArrayList<>();
-        courses.add(new Course());
-        when(courseRepository.findAll()).thenReturn(courses);
+        List<CourseResponseDto> courses = new ArrayList<>();
+        courses.add(new CourseResponseDto());
+        when(courseRepository.findAllAsResponse(TERM)).thenReturn(courses);
 
         List<CourseResponseDto> result = courseService.getAll();
 
         assertEquals(courses.size(), result.size());
     }
 
+    @Test
+    void testGetAll_WithQuery() {
+        CourseQueryDto query = new CourseQueryDto();
+        query.setFields(List.of("name"));
+        query.setSort(List.of("-name"));
+        when(courseRepository.findAllAsResponse(query)).thenReturn(List.of(new CourseResponseDto(null, "Physics")));
+
+        List<CourseResponseDto> result = courseService.getAll(query);
+
+        assertEquals("Physics", result.get(0).getName());
+        assertEquals(List.of("name"), query.getSelectedFields(CourseRepository.RESPONSE_FIELDS));
+        assertEquals(Sort.by(Sort.Order.desc("name")), query.getSortOrder(CourseRepository.RESPONSE_FIELDS));
+        assertEquals(TERM, query.getTerm());
+        verify(courseRepository, never()).findAllAsResponse(TERM);
+    }
+
+    @Test
+    void testGetAll_UnknownField() {
+        CourseQueryDto query = new CourseQueryDto();
+        query.setFields(List.of("students"));
+
+        assertThrows(BadRequestException.class, () -> query.getSelectedFields(CourseRepository.RESPONSE_FIELDS));
+    }
+
+    @Test
+    void testSearch_FullPageReturnsCursor() {
+        CourseRepository.SearchMatch match = mock(CourseRepository.SearchMatch.class);
+        when(match.getId()).thenReturn(7L);
+        when(match.getName()).thenReturn("Databases");
+        when(match.getDistance()).thenReturn(0.25f);
+        when(courseRepository.search("data", -1f, 0L, 1)).thenReturn(List.of(match));
+
+        SearchResponseDto<CourseResponseDto> result = courseService.search(new SearchRequestDto(" data ", 1, null));
+
+        assertEquals("Databases", result.getResults().get(0).getName());
+        assertEquals(SearchRequestDto.cursor(0.25f, 7L), result.getNext());
+        assertEquals(0.25f, new SearchRequestDto("data", 1, result.getNext()).getAfterDistance());
+        assertEquals(7L, new SearchRequestDto("data", 1, result.getNext()).getAfterId());
+    }
+
+    @Test
+    void testSearch_LastPageHasNoCursor() {
+        when(courseRepository.search("data", -1f, 0L, 20)).thenReturn(List.of());
+
+        SearchResponseDto<CourseResponseDto> result = courseService.search(new SearchRequestDto("data", 20, null));
+
+        assertTrue(result.getResults().isEmpty());
+        assertNull(result.getNext());
+    }
+
     @Test
     void testFindStudentCourses() {
         Long studentId = 1L;
-        Student student = new Student();
-        student.setId(studentId);
-        List<Course> courses = new ArrayList<>();
-        courses.add(new Course());
-        student.setCourses(courses);
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        List<CourseResponseDto> courses = new ArrayList<>();
+        courses.add(new CourseResponseDto());
+        when(studentRepository.existsById(studentId)).thenReturn(true);
+        when(courseRepository.findByStudentIdAsResponse(studentId, TERM)).thenReturn(courses);
 
         List<CourseResponseDto> result = courseService.findStudentCourses(studentId);
 
@@ -68,7 +145,7 @@ class CourseServiceTest {
     @Test
     void testFindStudentCourses_NotFound() {
         Long studentId = 1L;
-        when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(studentId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> courseService.findStudentCourses(studentId));
     }
@@ -77,53 +154,123 @@ class CourseServiceTest {
     void testCreate() {
         CourseRequestDto courseRequestDto = new CourseRequestDto();
         courseRequestDto.setName("Test Course");
-        Course course = CourseMapper.toEntity(courseRequestDto);
-        when(courseRepository.existsByName(courseRequestDto.getName())).thenReturn(false);
+        Course course = CourseMapper.toEntity(courseRequestDto, TERM);
+        when(courseRepository.existsByNameAndTerm(courseRequestDto.getName(), TERM)).thenReturn(false);
         when(courseRepository.save(course)).thenReturn(course);
 
         assertDoesNotThrow(() -> courseService.create(courseRequestDto));
+        verify(outboxRepository).append(eq(AggregateType.COURSE), any(), eq(ChangeType.CREATED), any(CourseResponseDto.class));
     }
 
     @Test
     void testCreate_DuplicateName() {
         CourseRequestDto courseRequestDto = new CourseRequestDto();
         courseRequestDto.setName("Test Course");
-        when(courseRepository.existsByName(courseRequestDto.getName())).thenReturn(true);
+        when(courseRepository.existsByNameAndTerm(courseRequestDto.getName(), TERM)).thenReturn(true);
 
         assertThrows(ConflictException.class, () -> courseService.create(courseRequestDto));
     }
 
+    @Test
+    void testDeleteById() {
+        Long courseId = 1L;
+        when(courseRepository.deleteWithEnrollmentsById(courseId)).thenReturn(1);
+
+        assertDoesNotThrow(() -> courseService.deleteById(courseId));
+        verify(courseRepository, never()).findById(any());
+        verify(outboxRepository).append(eq(AggregateType.COURSE), eq(courseId), eq(ChangeType.DELETED), any(CourseResponseDto.class));
+    }
+
+    @Test
+    void testDeleteById_NotFound() {
+        Long courseId = 1L;
+        when(courseRepository.deleteWithEnrollmentsById(courseId)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> courseService.deleteById(courseId));
+        verify(outboxRepository, never()).append(any(), any(), any(), any());
+    }
+
     @Test
     void testEnrollStudentToCourse() {
         Long studentId = 1L;
         Long courseId = 1L;
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of(TERM));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.of(studentId));
+        when(courseRepository.countStudents(courseId)).thenReturn((long) Course.MAX_STUDENTS - 1);
 
-        Student student = new Student();
-        student.setId(studentId);
-        if (student.getCourses() == null) {
-            student.setCourses(new ArrayList<>());
-        }
+        EnrollmentResponseDto result = courseService.enrollStudentToCourse(studentId, courseId);
 
-        Course course = new Course();
-        course.setId(courseId);
-        if (course.getStudents() == null) {
-            course.setStudents(new ArrayList<>());
-        }
+        assertEquals(EnrollmentStatus.ENROLLED, result.getStatus());
+        verify(courseRepository).enroll(courseId, studentId);
+        verify(waitlistRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(EntityChangedEvent.of(CacheNames.COURSE_ROSTERS, courseId));
+        verify(eventPublisher).publishEvent(EntityChangedEvent.of(CacheNames.STUDENT_COURSES, studentId));
+    }
 
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
-        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course));
-        when(courseRepository.save(course)).thenReturn(course);
-        when(studentRepository.save(student)).thenReturn(student);
-        assertDoesNotThrow(() -> courseService.enrollStudentToCourse(studentId, courseId));
+    @Test
+    void testEnrollStudentToCourse_FullCourseWaitlists() {
+        Long studentId = 1L;
+        Long courseId = 1L;
+        WaitlistEntry entry = new WaitlistEntry(courseId, studentId);
+        entry.setId(7L);
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of(TERM));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.of(studentId));
+        when(courseRepository.countStudents(courseId)).thenReturn((long) Course.MAX_STUDENTS);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenReturn(entry);
+        when(waitlistRepository.countByCourseIdAndIdLessThanEqual(courseId, 7L)).thenReturn(3L);
+
+        EnrollmentResponseDto result = courseService.enrollStudentToCourse(studentId, courseId);
+
+        assertEquals(EnrollmentStatus.WAITLISTED, result.getStatus());
+        assertEquals(3L, result.getWaitlistPosition());
+        verify(courseRepository, never()).enroll(any(), any());
+    }
+
+    @Test
+    void testEnrollStudentToCourse_FreeSeatWithWaitlistQueues() {
+        Long studentId = 1L;
+        Long courseId = 1L;
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of(TERM));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.of(studentId));
+        when(courseRepository.countStudents(courseId)).thenReturn(0L);
+        when(waitlistRepository.existsByCourseId(courseId)).thenReturn(true);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EnrollmentResponseDto result = courseService.enrollStudentToCourse(studentId, courseId);
+
+        assertEquals(EnrollmentStatus.WAITLISTED, result.getStatus());
+        verify(courseRepository, never()).enroll(any(), any());
+    }
+
+    @Test
+    void testEnrollStudentToCourse_MaxCourses() {
+        Long studentId = 1L;
+        Long courseId = 1L;
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of(TERM));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.of(studentId));
+        when(studentRepository.countCourses(studentId, TERM)).thenReturn((long) Student.MAX_COURSES);
 
-        assertTrue(student.getCourses().contains(course));
+        assertThrows(ConflictException.class, () -> courseService.enrollStudentToCourse(studentId, courseId));
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void testEnrollStudentToCourse_AlreadyEnrolled() {
+        Long studentId = 1L;
+        Long courseId = 1L;
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of(TERM));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.of(studentId));
+        when(courseRepository.isEnrolled(courseId, studentId)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> courseService.enrollStudentToCourse(studentId, courseId));
     }
 
     @Test
     void testEnrollStudentToCourse_StudentNotFound() {
         Long studentId = 1L;
         Long courseId = 1L;
-        when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of(TERM));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> courseService.enrollStudentToCourse(studentId, courseId));
     }
@@ -132,11 +279,29 @@ class CourseServiceTest {
     void testEnrollStudentToCourse_CourseNotFound() {
         Long studentId = 1L;
         Long courseId = 1L;
-        Student student = new Student();
-        student.setId(studentId);
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
-        when(courseRepository.findById(courseId)).thenReturn(Optional.empty());
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> courseService.enrollStudentToCourse(studentId, courseId));
+        verify(studentRepository, never()).lockById(any());
+    }
+
+    @Test
+    void testEnrollStudentToCourse_ArchivedTerm() {
+        Long studentId = 1L;
+        Long courseId = 1L;
+        when(courseRepository.lockTermById(courseId)).thenReturn(Optional.of("2025-SPRING"));
+        when(studentRepository.lockById(studentId)).thenReturn(Optional.of(studentId));
+        doThrow(new ConflictException("Term 2025-SPRING is not open.")).when(termService).requireOpen("2025-SPRING");
+
+        assertThrows(ConflictException.class, () -> courseService.enrollStudentToCourse(studentId, courseId));
+        verify(courseRepository, never()).enroll(any(), any());
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void testUnenrollStudentFromCourse_NotEnrolled() {
+        when(courseRepository.unenroll(1L, 2L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> courseService.unenrollStudentFromCourse(2L, 1L));
     }
 }
@@ -0,0 +1,84 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.ReportProperties;
+import com.bimetri.demo.dto.enums.ReportSource;
+import com.bimetri.demo.dto.response.EnrollmentReportDto;
+import com.bimetri.demo.dto.response.HistogramBucketDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.repository.EnrollmentReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EnrollmentReportServiceTest {
+
+    @Mock
+    private EnrollmentReportRepository enrollmentReportRepository;
+
+    @Spy
+    private ReportProperties reportProperties = new ReportProperties();
+
+    @InjectMocks
+    private EnrollmentReportService enrollmentReportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetEnrollmentReport_TotalsFromHistograms() {
+        when(enrollmentReportRepository.findCourseSizeHistogram(ReportSource.LIVE))
+                .thenReturn(List.of(new HistogramBucketDto(0, 2), new HistogramBucketDto(10, 3), new HistogramBucketDto(50, 1)));
+        when(enrollmentReportRepository.findStudentLoadHistogram(ReportSource.LIVE))
+                .thenReturn(List.of(new HistogramBucketDto(0, 4), new HistogramBucketDto(2, 40)));
+
+        EnrollmentReportDto result = enrollmentReportService.getEnrollmentReport();
+
+        assertEquals(ReportSource.LIVE, result.getSource());
+        assertEquals(6, result.getCourses());
+        assertEquals(80, result.getEnrollments());
+        assertEquals(1, result.getCoursesAtCapacity());
+        assertEquals(44, result.getStudents());
+        verify(enrollmentReportRepository, never()).findRefreshedWithin(any());
+    }
+
+    @Test
+    void testGetEnrollmentReport_FreshMaterializedData() {
+        OffsetDateTime refreshedAt = OffsetDateTime.now().minusSeconds(30);
+        reportProperties.setMaterialized(true);
+        when(enrollmentReportRepository.findRefreshedWithin(reportProperties.getMaxStaleness())).thenReturn(Optional.of(refreshedAt));
+
+        EnrollmentReportDto result = enrollmentReportService.getEnrollmentReport();
+
+        assertEquals(ReportSource.MATERIALIZED, result.getSource());
+        assertEquals(refreshedAt, result.getAsOf());
+        verify(enrollmentReportRepository).findCourseSizeHistogram(ReportSource.MATERIALIZED);
+    }
+
+    @Test
+    void testGetEnrollmentReport_StaleMaterializedData() {
+        reportProperties.setMaterialized(true);
+        when(enrollmentReportRepository.findRefreshedWithin(reportProperties.getMaxStaleness())).thenReturn(Optional.empty());
+
+        EnrollmentReportDto result = enrollmentReportService.getEnrollmentReport();
+
+        assertEquals(ReportSource.LIVE, result.getSource());
+        verify(enrollmentReportRepository).findCourseSizeHistogram(ReportSource.LIVE);
+    }
+
+    @Test
+    void testFindStudentsWithFewerCourses_OutOfRange() {
+        assertThrows(BadRequestException.class, () -> enrollmentReportService.findStudentsWithFewerCourses(6));
+    }
+}
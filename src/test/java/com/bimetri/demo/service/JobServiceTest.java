@@ -0,0 +1,134 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.jobs.JobProperties;
+import com.bimetri.demo.domain.Job;
+import com.bimetri.demo.dto.enums.JobStatus;
+import com.bimetri.demo.dto.enums.JobType;
+import com.bimetri.demo.dto.response.JobResponseDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.exception.ConflictException;
+import com.bimetri.demo.exception.TooManyRequestsException;
+import com.bimetri.demo.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JobServiceTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Spy
+    private JobProperties jobProperties = new JobProperties();
+
+    @InjectMocks
+    private JobService jobService;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jobProperties.setDirectory(directory);
+        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> {
+            Job job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(7L);
+            }
+            return job;
+        });
+    }
+
+    @Test
+    void testSubmit_StoresInput() throws Exception {
+        JobResponseDto result = jobService.submit(JobType.STUDENT_IMPORT, input("Ada,Lovelace,1815\n"));
+
+        assertEquals(JobStatus.QUEUED, result.getStatus());
+        assertEquals("Ada,Lovelace,1815\n", Files.readString(jobService.inputPath(7L)));
+    }
+
+    @Test
+    void testSubmit_QueueFull() {
+        long maxQueued = jobProperties.getMaxQueued();
+        when(jobRepository.countByStatus(JobStatus.QUEUED)).thenReturn(maxQueued);
+
+        assertThrows(TooManyRequestsException.class, () -> jobService.submit(JobType.ROSTER_EXPORT, input("")));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testSubmit_MissingInput() {
+        assertThrows(BadRequestException.class, () -> jobService.submit(JobType.STUDENT_IMPORT, input("")));
+        assertFalse(Files.exists(jobService.inputPath(7L)));
+    }
+
+    @Test
+    void testCancel_QueuedJobIsCancelled() {
+        when(jobRepository.cancelQueued(eq(7L), any(), eq(JobStatus.CANCELLED), eq(JobStatus.QUEUED))).thenReturn(1);
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(JobStatus.CANCELLED)));
+
+        assertEquals(JobStatus.CANCELLED, jobService.cancel(7L).getStatus());
+        verify(jobRepository, never()).requestCancel(any(), any());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testCancel_RunningJobIsAskedToStop() {
+        when(jobRepository.requestCancel(7L, JobStatus.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(JobStatus.RUNNING)));
+
+        JobResponseDto result = jobService.cancel(7L);
+
+        assertEquals(JobStatus.RUNNING, result.getStatus());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testCancel_JobClaimedMeanwhileIsAskedToStop() {
+        when(jobRepository.requestCancel(7L, JobStatus.RUNNING)).thenReturn(0, 1);
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(JobStatus.QUEUED))).thenReturn(Optional.of(job(JobStatus.RUNNING)));
+
+        assertEquals(JobStatus.RUNNING, jobService.cancel(7L).getStatus());
+        verify(jobRepository, times(2)).requestCancel(7L, JobStatus.RUNNING);
+    }
+
+    @Test
+    void testCancel_FinishedJob() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(JobStatus.SUCCEEDED)));
+
+        assertThrows(ConflictException.class, () -> jobService.cancel(7L));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetResult_NotSucceeded() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(JobStatus.RUNNING)));
+
+        assertThrows(ConflictException.class, () -> jobService.getResult(7L));
+    }
+
+    private static Job job(JobStatus status) {
+        Job job = new Job(JobType.ROSTER_EXPORT);
+        job.setId(7L);
+        job.setStatus(status);
+        return job;
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+}
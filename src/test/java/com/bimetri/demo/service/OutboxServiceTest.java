@@ -0,0 +1,86 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.config.outbox.OutboxProperties;
+import com.bimetri.demo.config.outbox.OutboxSink;
+import com.bimetri.demo.dto.enums.AggregateType;
+import com.bimetri.demo.dto.enums.ChangeType;
+import com.bimetri.demo.dto.response.OutboxEventDto;
+import com.bimetri.demo.exception.BadRequestException;
+import com.bimetri.demo.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @Spy
+    private OutboxProperties outboxProperties = new OutboxProperties();
+
+    @InjectMocks
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRelayBatch_PublishesAndMarksInOrder() throws IOException {
+        List<OutboxEventDto> events = List.of(event(3), event(5));
+        when(outboxRepository.tryLockRelay()).thenReturn(true);
+        when(outboxRepository.findUnpublished(outboxProperties.getBatchSize())).thenReturn(events);
+
+        assertEquals(2, outboxService.relayBatch());
+
+        verify(outboxSink).publish(events);
+        verify(outboxRepository).markPublished(List.of(3L, 5L));
+    }
+
+    @Test
+    void testRelayBatch_AnotherInstanceRelaying() throws IOException {
+        when(outboxRepository.tryLockRelay()).thenReturn(false);
+
+        assertEquals(0, outboxService.relayBatch());
+
+        verify(outboxRepository, never()).findUnpublished(anyInt());
+        verifyNoInteractions(outboxSink);
+    }
+
+    @Test
+    void testRelayBatch_SinkFailureLeavesEventsUnpublished() throws IOException {
+        List<OutboxEventDto> events = List.of(event(1));
+        when(outboxRepository.tryLockRelay()).thenReturn(true);
+        when(outboxRepository.findUnpublished(anyInt())).thenReturn(events);
+        doThrow(new IOException("unreachable")).when(outboxSink).publish(events);
+
+        assertThrows(IOException.class, () -> outboxService.relayBatch());
+
+        verify(outboxRepository, never()).markPublished(any());
+    }
+
+    @Test
+    void testFindEvents_LimitOutOfRange() {
+        assertThrows(BadRequestException.class, () -> outboxService.findEvents(0, OutboxService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(outboxRepository);
+    }
+
+    private static OutboxEventDto event(long id) {
+        return new OutboxEventDto(id, AggregateType.COURSE, 1L, ChangeType.ENROLLED, null, OffsetDateTime.now());
+    }
+}
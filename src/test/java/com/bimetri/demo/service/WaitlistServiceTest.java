@@ -0,0 +1,120 @@
+package com.bimetri.demo.service;
+
+import com.bimetri.demo.domain.Course;
+import com.bimetri.demo.domain.Student;
+import com.bimetri.demo.domain.WaitlistEntry;
+import com.bimetri.demo.dto.response.WaitlistPositionDto;
+import com.bimetri.demo.exception.ResourceNotFoundException;
+import com.bimetri.demo.repository.CourseRepository;
+import com.bimetri.demo.repository.OutboxRepository;
+import com.bimetri.demo.repository.StudentRepository;
+import com.bimetri.demo.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetPosition() {
+        WaitlistEntry entry = entry(10L, 1L, 2L);
+        when(waitlistRepository.findByCourseIdAndStudentId(1L, 2L)).thenReturn(Optional.of(entry));
+        when(waitlistRepository.countByCourseIdAndIdLessThanEqual(1L, 10L)).thenReturn(4L);
+
+        WaitlistPositionDto result = waitlistService.getPosition(1L, 2L);
+
+        assertEquals(4L, result.getPosition());
+        assertEquals(entry.getCreatedAt(), result.getJoinedAt());
+    }
+
+    @Test
+    void testGetPosition_NotWaitlisted() {
+        when(waitlistRepository.findByCourseIdAndStudentId(1L, 2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.getPosition(1L, 2L));
+    }
+
+    @Test
+    void testPromoteNextCourse_FillsFreeSeatsInOrder() {
+        WaitlistEntry first = entry(10L, 1L, 2L);
+        WaitlistEntry second = entry(11L, 1L, 3L);
+        when(courseRepository.lockNextWithWaitlistAndFreeSeats(0L, Course.MAX_STUDENTS)).thenReturn(Optional.of(1L));
+        when(courseRepository.findTermById(1L)).thenReturn("2026-FALL");
+        when(courseRepository.countStudents(1L)).thenReturn((long) Course.MAX_STUDENTS - 1);
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(1L)).thenReturn(Optional.of(first)).thenReturn(Optional.of(second));
+        when(studentRepository.tryLockById(2L)).thenReturn(Optional.of(2L));
+
+        assertEquals(Optional.of(1L), waitlistService.promoteNextCourse(0L));
+
+        verify(courseRepository).enroll(1L, 2L);
+        verify(waitlistRepository).delete(first);
+        verify(courseRepository, never()).enroll(1L, 3L);
+    }
+
+    @Test
+    void testPromoteNextCourse_DropsStudentAtMaxCourses() {
+        WaitlistEntry first = entry(10L, 1L, 2L);
+        when(courseRepository.lockNextWithWaitlistAndFreeSeats(0L, Course.MAX_STUDENTS)).thenReturn(Optional.of(1L));
+        when(courseRepository.findTermById(1L)).thenReturn("2026-FALL");
+        when(courseRepository.countStudents(1L)).thenReturn((long) Course.MAX_STUDENTS - 1);
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(1L)).thenReturn(Optional.of(first)).thenReturn(Optional.empty());
+        when(studentRepository.tryLockById(2L)).thenReturn(Optional.of(2L));
+        when(studentRepository.countCourses(2L, "2026-FALL")).thenReturn((long) Student.MAX_COURSES);
+
+        waitlistService.promoteNextCourse(0L);
+
+        verify(waitlistRepository).delete(first);
+        verify(courseRepository, never()).enroll(any(), any());
+    }
+
+    @Test
+    void testPromoteNextCourse_BusyStudentKeepsOrder() {
+        WaitlistEntry first = entry(10L, 1L, 2L);
+        when(courseRepository.lockNextWithWaitlistAndFreeSeats(0L, Course.MAX_STUDENTS)).thenReturn(Optional.of(1L));
+        when(courseRepository.countStudents(1L)).thenReturn(0L);
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(1L)).thenReturn(Optional.of(first));
+        when(studentRepository.tryLockById(2L)).thenReturn(Optional.empty());
+
+        waitlistService.promoteNextCourse(0L);
+
+        verify(waitlistRepository, never()).delete(any());
+        verify(courseRepository, never()).enroll(any(), any());
+    }
+
+    private static WaitlistEntry entry(Long id, Long courseId, Long studentId) {
+        WaitlistEntry entry = new WaitlistEntry(courseId, studentId);
+        entry.setId(id);
+        return entry;
+    }
+}